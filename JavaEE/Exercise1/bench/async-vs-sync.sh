@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+# Compares the synchronous REST endpoints with their /async variants (virtual
+# threads) under the same open-model load, using the load driver from the
+# benchmarks module. Run it at a rate above what the worker pool can serve
+# synchronously; the sync run then shows queueing in p99 and 5xx errors from
+# the connection pool's blocking timeout, while the async run should keep up
+# until the database itself is saturated.
+#
+# Usage: bench/async-vs-sync.sh [base-url] [rate] [duration-s] [max-in-flight]
+set -euo pipefail
+
+BASE=${1:-http://localhost:8080/Exercise1/api}
+RATE=${2:-2000}
+DURATION=${3:-60}
+IN_FLIGHT=${4:-4000}
+DIR=$(cd "$(dirname "$0")/.." && pwd)
+JAR="$DIR/benchmarks/target/benchmarks.jar"
+
+if [[ ! -f "$JAR" ]]; then
+  echo "Build the load driver first: mvn -f $DIR/pom.xml install && mvn -f $DIR/benchmarks/pom.xml package" >&2
+  exit 1
+fi
+
+for variant in sync async; do
+  echo "== $variant =="
+  java -cp "$JAR" com.home.backend.bench.load.LoadDriver \
+    --base "$BASE" --variant "$variant" --rate "$RATE" --warmup 15 --duration "$DURATION" \
+    --max-in-flight "$IN_FLIGHT" --json "load-$variant.json"
+done
+echo "JSON reports: load-sync.json load-async.json"
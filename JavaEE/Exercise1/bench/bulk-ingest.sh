@@ -0,0 +1,47 @@
+#!/usr/bin/env bash
+# Compares insert throughput of POST /api/movies (one row per request) with
+# POST /api/movies/bulk (NDJSON, batched). Rows reference director 1 and
+# actors 1 and 2 from import.sql. Hibernate only runs that script when it
+# creates the schema, so on the H2 datasource start WildFly with
+# -Dcatalog.seed-file=<path to src/main/resources/import.sql>.
+#
+# Usage: bench/bulk-ingest.sh [base-url] [single-rows] [bulk-rows] [batch-size]
+set -euo pipefail
+
+BASE=${1:-http://localhost:8080/Exercise1/api}
+SINGLE=${2:-1000}
+BULK=${3:-50000}
+BATCH=${4:-500}
+RUN=$(date +%s)
+TMP=$(mktemp -d)
+trap 'rm -rf "$TMP"' EXIT
+
+row() {
+  printf '{"title":"Bench %s-%s-%d","year":%d,"genre":"Drama","runtimeMin":%d,"director":{"id":1},"actors":[{"id":1},{"id":2}]}' \
+    "$RUN" "$1" "$2" $((1950 + $2 % 70)) $((80 + $2 % 100))
+}
+
+# One curl process with keep-alive for all single-row requests, so process start-up is not measured
+# "next" only between entries: curl rejects a trailing one as an entry without URL
+for ((i = 0; i < SINGLE; i++)); do
+  ((i > 0)) && echo next
+  printf 'url = "%s/movies"\nrequest = "POST"\nheader = "Content-Type: application/json"\ndata = %s\noutput = "/dev/null"\n' \
+    "$BASE" "$(row single "$i" | sed 's/"/\\"/g; s/^/"/; s/$/"/')"
+done > "$TMP/single.cfg"
+for ((i = 0; i < BULK; i++)); do row bulk "$i"; echo; done > "$TMP/bulk.ndjson"
+
+start=$(date +%s%N)
+curl -fs -K "$TMP/single.cfg"
+single_ms=$(( ($(date +%s%N) - start) / 1000000 ))
+single_rps=$(( SINGLE * 1000 / (single_ms > 0 ? single_ms : 1) ))
+
+start=$(date +%s%N)
+report=$(curl -fs -X POST -H 'Content-Type: application/x-ndjson' --data-binary "@$TMP/bulk.ndjson" \
+  "$BASE/movies/bulk?batchSize=$BATCH")
+bulk_ms=$(( ($(date +%s%N) - start) / 1000000 ))
+bulk_rps=$(( BULK * 1000 / (bulk_ms > 0 ? bulk_ms : 1) ))
+
+printf 'single  rows=%d elapsedMs=%d rowsPerSecond=%d\n' "$SINGLE" "$single_ms" "$single_rps"
+printf 'bulk    rows=%d elapsedMs=%d rowsPerSecond=%d batchSize=%d\n' "$BULK" "$bulk_ms" "$bulk_rps" "$BATCH"
+printf 'speedup %sx\n' "$(( bulk_rps / (single_rps > 0 ? single_rps : 1) ))"
+echo "server report: $report" | cut -c1-300
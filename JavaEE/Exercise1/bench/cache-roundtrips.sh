@@ -0,0 +1,32 @@
+#!/usr/bin/env bash
+# Measures database round-trips for repeated GET /api/movies/{id} with a cold
+# versus a warm second-level/query cache, using the counters of GET /api/cache.
+#
+# Usage: bench/cache-roundtrips.sh [base-url] [movie-id] [requests]
+set -euo pipefail
+
+BASE=${1:-http://localhost:8080/Exercise1/api}
+ID=${2:-1}
+N=${3:-1000}
+
+stat() {
+  curl -fs "$BASE/cache" | sed -n "s/.*\"$1\":\([0-9]*\).*/\1/p"
+}
+
+run() {
+  local label=$1 evict=$2
+  curl -fs "$BASE/cache?reset=true" > /dev/null
+  local start=$(date +%s%N)
+  for ((i = 0; i < N; i++)); do
+    if [ "$evict" = yes ]; then curl -fs -X DELETE "$BASE/cache" > /dev/null; fi
+    curl -fs "$BASE/movies/$ID" > /dev/null
+  done
+  local ms=$(( ($(date +%s%N) - start) / 1000000 ))
+  printf '%-6s requests=%d statements=%s l2Hits=%s queryCacheHits=%s elapsedMs=%d\n' \
+    "$label" "$N" "$(stat prepareStatementCount)" "$(stat secondLevelCacheHitCount)" \
+    "$(stat queryCacheHitCount)" "$ms"
+}
+
+run cold yes
+curl -fs "$BASE/movies/$ID" > /dev/null   # warm up
+run warm no
@@ -0,0 +1,53 @@
+package com.home.backend.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.home.backend.model.Actor;
+
+/**
+ * {@link com.home.backend.service.ActorService#findByIds} with growing IN lists.
+ * Ids are drawn at random from the seeded actors, so large lists contain repeats.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ActorServiceBenchmark {
+
+    @Param({"10", "100", "1000", "5000"})
+    public int ids;
+
+    private List<Long> idList;
+
+    @Setup(Level.Iteration)
+    public void pickIds(ServiceState services) {
+        idList = new ArrayList<>(ids);
+        for (int i = 0; i < ids; i++) {
+            idList.add(services.randomActorId());
+        }
+    }
+
+    @Benchmark
+    public List<Actor> findByIds(ServiceState services) {
+        List<Actor> actors = services.actorService.findByIds(idList);
+        services.entityManager.clear();
+        return actors;
+    }
+}
@@ -0,0 +1,94 @@
+package com.home.backend.bench;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.home.backend.service.CastGraph;
+
+/**
+ * Co-star and degrees-of-separation queries on a synthetic cast graph, with
+ * no database involved. Casts of 3-7 actors are drawn with a cubic skew, so
+ * a few actors are in thousands of movies like real stars. Sample mode
+ * reports the percentiles, p99 included. {@code withChanges} measures one
+ * patch of ten recast movies, which copies the whole graph.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CastGraphBenchmark {
+
+    /** About five links per movie, so 200000 movies is a million-edge graph. */
+    @Param({"200000"})
+    public int movies;
+
+    private CastGraph graph;
+    private final SortedMap<Long, long[]> recast = new TreeMap<>();
+    private int actors;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void build() {
+        random = new Random(42);
+        actors = movies * 3 / 4;
+        long[] linkMovies = new long[movies * 7];
+        long[] linkActors = new long[movies * 7];
+        int links = 0;
+        for (int m = 1; m <= movies; m++) {
+            int cast = 3 + random.nextInt(5);
+            int start = links;
+            while (links - start < cast) {
+                double u = random.nextDouble();
+                long actor = (long) (actors * u * u * u) + 1;
+                boolean duplicate = false;
+                for (int i = start; i < links; i++) duplicate |= linkActors[i] == actor;
+                if (duplicate) continue;
+                linkMovies[links] = m;
+                linkActors[links++] = actor;
+            }
+            Arrays.sort(linkActors, start, links);
+        }
+        graph = CastGraph.of(linkMovies, linkActors, links);
+        while (recast.size() < 10) {
+            recast.put((long) random.nextInt(movies) + 1, new long[] {randomActor(), actors + 1L + recast.size()});
+        }
+    }
+
+    private long randomActor() {
+        return random.nextInt(actors) + 1;
+    }
+
+    @Benchmark
+    public Object costars() {
+        return graph.costars(randomActor(), 20);
+    }
+
+    @Benchmark
+    public long[] path() {
+        return graph.path(randomActor(), randomActor());
+    }
+
+    @Benchmark
+    public CastGraph withChanges() {
+        return graph.withChanges(recast, Set.of());
+    }
+}
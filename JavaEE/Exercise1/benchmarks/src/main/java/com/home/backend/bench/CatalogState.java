@@ -0,0 +1,108 @@
+package com.home.backend.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.home.backend.model.Actor;
+import com.home.backend.model.Director;
+import com.home.backend.model.Movie;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * In-process H2 database seeded once per trial with a deterministic catalog.
+ * The size is chosen with {@code -p movies=...}; directors and actors scale with it.
+ */
+@State(Scope.Benchmark)
+public class CatalogState {
+
+    static final int FIRST_YEAR = 1950;
+    static final int YEARS = 70;
+    static final int ACTORS_PER_MOVIE = 4;
+
+    @Param({"1000", "10000"})
+    public int movies;
+
+    SessionFactory sessionFactory;
+    long firstMovieId;
+    long firstActorId;
+    int directors;
+    int actors;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        sessionFactory = new Configuration()
+            .addAnnotatedClass(Movie.class)
+            .addAnnotatedClass(Actor.class)
+            .addAnnotatedClass(Director.class)
+            .setProperty("hibernate.connection.url", "jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1")
+            .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+            .setProperty("hibernate.jdbc.batch_size", "50")
+            .setProperty("hibernate.order_inserts", "true")
+            .setProperty("hibernate.query.in_clause_parameter_padding", "true")
+            // No Infinispan here: measure the queries, not the second-level cache
+            .setProperty("hibernate.cache.use_second_level_cache", "false")
+            .setProperty("hibernate.cache.use_query_cache", "false")
+            .setProperty("jakarta.persistence.validation.mode", "none")
+            .buildSessionFactory();
+
+        directors = Math.max(10, movies / 10);
+        actors = Math.max(50, movies * 2 / 5);
+        Random random = new Random(42);
+
+        EntityManager em = sessionFactory.createEntityManager();
+        em.getTransaction().begin();
+        List<Director> directorRefs = new ArrayList<>(directors);
+        for (int i = 0; i < directors; i++) {
+            Director d = new Director();
+            d.setFirstName("Director" + i);
+            d.setLastName("Last" + i);
+            em.persist(d);
+            directorRefs.add(d);
+        }
+        List<Actor> actorRefs = new ArrayList<>(actors);
+        for (int i = 0; i < actors; i++) {
+            Actor a = new Actor();
+            a.setFirstName("Actor" + i);
+            a.setLastName("Last" + random.nextInt(actors));
+            em.persist(a);
+            actorRefs.add(a);
+        }
+        firstActorId = actorRefs.get(0).getId();
+        for (int i = 0; i < movies; i++) {
+            Movie m = new Movie();
+            m.setTitle("Movie " + i);
+            m.setYear(FIRST_YEAR + random.nextInt(YEARS));
+            m.setGenre(i % 3 == 0 ? "Drama" : "Action, Comedy");
+            m.setRuntimeMin(80 + random.nextInt(80));
+            m.setPlotOneLine("A one-line plot summary for movie number " + i);
+            m.setPosterUrl("https://example.com/posters/" + i + ".jpg");
+            m.setImdbId("tt" + (1_000_000 + i));
+            m.setDirector(directorRefs.get(random.nextInt(directors)));
+            for (int k = 0; k < ACTORS_PER_MOVIE; k++) {
+                m.getActors().add(actorRefs.get(random.nextInt(actors)));
+            }
+            em.persist(m);
+            if (i == 0) {
+                firstMovieId = m.getId();
+            }
+        }
+        em.getTransaction().commit();
+        em.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        sessionFactory.close();
+    }
+}
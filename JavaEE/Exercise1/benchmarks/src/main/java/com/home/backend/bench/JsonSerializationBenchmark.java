@@ -0,0 +1,95 @@
+package com.home.backend.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Hibernate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.home.backend.model.Movie;
+import com.home.backend.service.MovieView;
+
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+
+/**
+ * JSON-B serialization of already-loaded graphs, i.e. what the JAX-RS
+ * writer does after the resource method returns. The entity graphs are the
+ * {@code Movie} trees; the read models are what the resources send today.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final int DETAIL_SAMPLE = 100;
+
+    private Jsonb jsonb;
+    private List<Movie> movieList;
+    private List<MovieView> viewList;
+    private Movie[] movieDetails;
+    private MovieView[] viewDetails;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void load(ServiceState services) {
+        jsonb = JsonbBuilder.create();
+        movieList = services.movieService.listAll();
+        // Load the casts up front (batched) so the writer never hits a closed session
+        movieList.forEach(movie -> Hibernate.initialize(movie.getActors()));
+        viewList = services.movieService.listAllViews();
+        movieDetails = new Movie[DETAIL_SAMPLE];
+        viewDetails = new MovieView[DETAIL_SAMPLE];
+        for (int i = 0; i < DETAIL_SAMPLE; i++) {
+            long id = services.randomMovieId();
+            movieDetails[i] = services.movieService.findWithDetails(id);
+            viewDetails[i] = services.movieService.findDetailView(id);
+        }
+        services.entityManager.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws Exception {
+        jsonb.close();
+    }
+
+    @Benchmark
+    public String movieListGraph() {
+        return jsonb.toJson(movieList);
+    }
+
+    @Benchmark
+    public String movieListView() {
+        return jsonb.toJson(viewList);
+    }
+
+    @Benchmark
+    public String movieDetailGraph() {
+        return jsonb.toJson(movieDetails[nextDetail()]);
+    }
+
+    @Benchmark
+    public String movieDetailView() {
+        return jsonb.toJson(viewDetails[nextDetail()]);
+    }
+
+    private int nextDetail() {
+        int i = next;
+        next = (i + 1) % DETAIL_SAMPLE;
+        return i;
+    }
+}
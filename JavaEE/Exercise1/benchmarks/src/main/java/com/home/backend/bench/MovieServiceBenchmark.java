@@ -0,0 +1,46 @@
+package com.home.backend.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.home.backend.model.Movie;
+
+/**
+ * Read paths of {@link com.home.backend.service.MovieService}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MovieServiceBenchmark {
+
+    @Benchmark
+    public List<Movie> listAll(ServiceState services) {
+        List<Movie> movies = services.movieService.listAll();
+        services.entityManager.clear();
+        return movies;
+    }
+
+    @Benchmark
+    public Movie findWithDetails(ServiceState services) {
+        Movie movie = services.movieService.findWithDetails(services.randomMovieId());
+        services.entityManager.clear();
+        return movie;
+    }
+
+    @Benchmark
+    public List<Movie> findByYear(ServiceState services) {
+        List<Movie> movies = services.movieService.findByYear(services.randomYear());
+        services.entityManager.clear();
+        return movies;
+    }
+}
@@ -0,0 +1,79 @@
+package com.home.backend.bench;
+
+import java.lang.reflect.Field;
+import java.util.SplittableRandom;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.home.backend.service.ActorService;
+import com.home.backend.service.BaseService;
+import com.home.backend.service.DirectorService;
+import com.home.backend.service.InListStrategy;
+import com.home.backend.service.MovieService;
+import com.home.backend.service.SlowQueryLog;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Per-thread services wired by hand the way the container would inject them.
+ * Each benchmark clears the persistence context after its call so every
+ * invocation starts cold, like a fresh transaction-scoped context.
+ */
+@State(Scope.Thread)
+public class ServiceState {
+
+    EntityManager entityManager;
+    MovieService movieService;
+    ActorService actorService;
+    DirectorService directorService;
+
+    private CatalogState catalog;
+    private final SplittableRandom random = new SplittableRandom(7);
+
+    @Setup(Level.Trial)
+    public void wire(CatalogState catalog) throws ReflectiveOperationException {
+        this.catalog = catalog;
+        entityManager = catalog.sessionFactory.createEntityManager();
+        actorService = new ActorService();
+        directorService = new DirectorService();
+        movieService = new MovieService();
+        SlowQueryLog slowQueries = new SlowQueryLog();
+        inject(BaseService.class, actorService, "entityManager", entityManager);
+        inject(BaseService.class, directorService, "entityManager", entityManager);
+        inject(BaseService.class, actorService, "slowQueries", slowQueries);
+        inject(BaseService.class, directorService, "slowQueries", slowQueries);
+        inject(ActorService.class, actorService, "inLists", new InListStrategy());
+        inject(MovieService.class, movieService, "entityManager", entityManager);
+        inject(MovieService.class, movieService, "slowQueries", slowQueries);
+        inject(MovieService.class, movieService, "actorService", actorService);
+        inject(MovieService.class, movieService, "directorService", directorService);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        entityManager.close();
+    }
+
+    long randomMovieId() {
+        return catalog.firstMovieId + random.nextInt(catalog.movies);
+    }
+
+    int randomYear() {
+        return CatalogState.FIRST_YEAR + random.nextInt(CatalogState.YEARS);
+    }
+
+    long randomActorId() {
+        return catalog.firstActorId + random.nextInt(catalog.actors);
+    }
+
+    private static void inject(Class<?> owner, Object target, String name, Object value)
+            throws ReflectiveOperationException {
+        Field field = owner.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -0,0 +1,184 @@
+package com.home.backend.bench.load;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Writes a synthetic catalog as INSERT statements for the tables in
+ * {@code db/schema.sql} (DIRECTOR, ACTOR, MOVIE, MOVIE_ACTORS). The same
+ * arguments always produce the same file. The SQL is plain multi-row INSERTs
+ * that run on both H2 and MariaDB.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.home.backend.bench.load.CatalogGenerator \
+ *     --movies 100000 --directors 5000 --actors 40000 --cast 6 --out catalog.sql
+ * </pre>
+ *
+ * Ids start at {@code --first-id} (default 1000000), well above the rows from
+ * import.sql and the ids the sequences hand out, so the app can keep inserting.
+ * Actor popularity is skewed so that a few actors appear in many movies.
+ */
+public final class CatalogGenerator {
+
+    private static final String[] FIRST_NAMES = {
+        "Ada", "Ben", "Clara", "Dev", "Elena", "Felix", "Grace", "Hugo", "Iris", "Jonas",
+        "Kira", "Leo", "Maya", "Nico", "Olga", "Pablo", "Quinn", "Rosa", "Sam", "Tara",
+        "Uma", "Victor", "Wen", "Xavier", "Yara", "Zane"
+    };
+    private static final String[] LAST_NAMES = {
+        "Abbott", "Barnes", "Castillo", "Dubois", "Eriksen", "Fischer", "Garcia", "Horvath",
+        "Ito", "Jensen", "Kowalski", "Larsen", "Moreau", "Novak", "Okafor", "Popescu",
+        "Quist", "Rossi", "Schmidt", "Tanaka", "Urban", "Varga", "Weber", "Yilmaz", "Zhou"
+    };
+    private static final String[] ADJECTIVES = {
+        "Silent", "Broken", "Golden", "Last", "Hidden", "Burning", "Frozen", "Electric",
+        "Distant", "Crimson", "Lonely", "Savage", "Midnight", "Endless", "Hollow", "Wild"
+    };
+    private static final String[] NOUNS = {
+        "River", "Empire", "Garden", "Signal", "Harbor", "Mirror", "Frontier", "Machine",
+        "Kingdom", "Storm", "Station", "Voyage", "Promise", "Shadow", "Orchard", "Circuit"
+    };
+    private static final String[] GENRES = {
+        "Drama", "Comedy", "Action", "Thriller", "Sci-Fi", "Romance", "Horror",
+        "Documentary", "Animation", "Crime, Drama", "Action, Adventure"
+    };
+
+    private final int directors;
+    private final int actors;
+    private final int movies;
+    private final int cast;
+    private final long firstId;
+    private final int rowsPerInsert;
+    private final long seed;
+
+    private CatalogGenerator(Args args) {
+        movies = args.getInt("movies", 10_000);
+        directors = args.getInt("directors", Math.max(1, movies / 20));
+        actors = args.getInt("actors", Math.max(1, movies * 2 / 5));
+        cast = args.getInt("cast", 6);
+        firstId = args.getLong("first-id", 1_000_000L);
+        rowsPerInsert = args.getInt("rows-per-insert", 500);
+        seed = args.getLong("seed", 42L);
+    }
+
+    public static void main(String[] argv) throws IOException {
+        Args args = new Args(argv);
+        Path out = Path.of(args.get("out", "catalog.sql"));
+        CatalogGenerator generator = new CatalogGenerator(args);
+        try (BufferedWriter writer = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+            generator.write(writer);
+        }
+        System.out.printf("Wrote %s: %d directors, %d actors, %d movies (seed %d)%n",
+            out, generator.directors, generator.actors, generator.movies, generator.seed);
+    }
+
+    void write(Writer out) throws IOException {
+        // One stream per table so changing one volume does not reshuffle the others
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom directorRandom = root.split();
+        SplittableRandom actorRandom = root.split();
+        SplittableRandom movieRandom = root.split();
+
+        out.write("-- Synthetic catalog: directors=" + directors + " actors=" + actors
+            + " movies=" + movies + " cast=" + cast + " seed=" + seed + "\n");
+        writePeople(out, "DIRECTOR", directors, directorRandom);
+        writePeople(out, "ACTOR", actors, actorRandom);
+
+        Inserts movieRows = new Inserts(out,
+            "INSERT INTO MOVIE (id, title, release_year, genre, runtime_min, plot_one_line, poster_url, imdb_id, director_id) VALUES ");
+        // Links are buffered and written after the movies they reference
+        StringWriter links = new StringWriter();
+        Inserts castRows = new Inserts(links, "INSERT INTO MOVIE_ACTORS (movie_id, actor_id) VALUES ");
+        int[] picked = new int[Math.min(2 * cast, actors)];
+        for (int i = 0; i < movies; i++) {
+            long id = firstId + i;
+            String title = pick(movieRandom, ADJECTIVES) + " " + pick(movieRandom, NOUNS) + " " + (i + 1);
+            int year = 1920 + movieRandom.nextInt(105);
+            movieRows.add("(" + id + ", " + quote(title) + ", " + year + ", " + quote(pick(movieRandom, GENRES))
+                + ", " + (75 + movieRandom.nextInt(110))
+                + ", " + quote("A " + pick(movieRandom, ADJECTIVES).toLowerCase() + " story about a "
+                    + pick(movieRandom, NOUNS).toLowerCase() + ".")
+                + ", " + quote("https://example.com/posters/" + id + ".jpg")
+                + ", " + quote(String.format("tt9%07d", i))
+                + ", " + (firstId + movieRandom.nextInt(directors)) + ")");
+
+            int size = pickCast(movieRandom, picked);
+            for (int k = 0; k < size; k++) {
+                castRows.add("(" + id + ", " + (firstId + picked[k]) + ")");
+            }
+        }
+        movieRows.finish();
+        castRows.finish();
+        out.write(links.toString());
+    }
+
+    private void writePeople(Writer out, String table, int count, SplittableRandom random) throws IOException {
+        Inserts rows = new Inserts(out, "INSERT INTO " + table + " (id, first_name, last_name, birth_date) VALUES ");
+        for (int i = 0; i < count; i++) {
+            LocalDate birth = LocalDate.of(1930, 1, 1).plusDays(random.nextInt(365 * 75));
+            rows.add("(" + (firstId + i) + ", " + quote(pick(random, FIRST_NAMES)) + ", "
+                + quote(pick(random, LAST_NAMES)) + ", " + quote(birth.toString()) + ")");
+        }
+        rows.finish();
+    }
+
+    /**
+     * Picks 1..2*cast-1 distinct actors (mean {@code cast}); squaring the uniform
+     * draw favours low indices, giving a long tail of rarely cast actors.
+     */
+    private int pickCast(SplittableRandom random, int[] picked) {
+        int size = Math.min(picked.length, 1 + random.nextInt(Math.max(1, 2 * cast - 1)));
+        int n = 0;
+        while (n < size) {
+            double u = random.nextDouble();
+            int candidate = (int) (actors * u * u);
+            if (Arrays.stream(picked, 0, n).noneMatch(p -> p == candidate)) {
+                picked[n++] = candidate;
+            }
+        }
+        return n;
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+
+    /** Groups rows into multi-row INSERT statements, one statement per line. */
+    private final class Inserts {
+        private final Writer out;
+        private final String prefix;
+        private int rows;
+
+        Inserts(Writer out, String prefix) {
+            this.out = out;
+            this.prefix = prefix;
+        }
+
+        void add(String row) throws IOException {
+            out.write(rows == 0 ? prefix : ", ");
+            out.write(row);
+            if (++rows == rowsPerInsert) {
+                finish();
+            }
+        }
+
+        void finish() throws IOException {
+            if (rows > 0) {
+                out.write(";\n");
+                rows = 0;
+            }
+        }
+    }
+}
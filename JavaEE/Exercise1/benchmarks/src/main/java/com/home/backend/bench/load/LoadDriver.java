@@ -0,0 +1,286 @@
+package com.home.backend.bench.load;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonGenerator;
+
+/**
+ * Open-model HTTP load driver for the REST API. Requests are issued on a fixed
+ * schedule ({@code --rate} per second) regardless of how fast responses come
+ * back, and latency is measured from the scheduled start, so a stalled server
+ * shows up in the percentiles instead of silently lowering the load.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.home.backend.bench.load.LoadDriver \
+ *     --base http://localhost:8080/Exercise1/api --rate 500 --duration 60 --warmup 15 \
+ *     --mix list=1,detail=6,year=2,actors=1 --json load-report.json
+ * </pre>
+ *
+ * {@code --variant async} sends the same requests to the {@code /async} variants.
+ *
+ * Movie ids, years and actor ids are discovered from the running instance
+ * before the run, so it works against whatever catalog is loaded.
+ */
+public final class LoadDriver {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final HttpClient client;
+    private final String base;
+    private final int rate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int pageSize;
+    private final int actorIdsPerRequest;
+    /** "/async" to target the CompletionStage variants of the endpoints, else empty. */
+    private final String variant;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final SplittableRandom random;
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+    private final Endpoint[] schedule;
+
+    private long[] movieIds;
+    private int[] years;
+    private long[] actorIds;
+
+    private LoadDriver(Args args) {
+        base = args.get("base", "http://localhost:8080/Exercise1/api");
+        rate = args.getInt("rate", 200);
+        warmup = Duration.ofSeconds(args.getLong("warmup", 10));
+        duration = Duration.ofSeconds(args.getLong("duration", 60));
+        pageSize = args.getInt("page-size", 50);
+        actorIdsPerRequest = args.getInt("actor-ids", 20);
+        variant = switch (args.get("variant", "sync")) {
+            case "sync" -> "";
+            case "async" -> "/async";
+            default -> throw new IllegalArgumentException("--variant must be sync or async");
+        };
+        maxInFlight = args.getInt("max-in-flight", 512);
+        inFlight = new Semaphore(maxInFlight);
+        random = new SplittableRandom(args.getLong("seed", 1L));
+        client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+        for (String endpoint : List.of("list", "detail", "year", "actors")) {
+            endpoints.put(endpoint, new Endpoint(endpoint));
+        }
+        // Weighted draw table, e.g. list=1,detail=6 -> [list, detail x6]
+        List<Endpoint> slots = new ArrayList<>();
+        for (String part : args.get("mix", "list=1,detail=6,year=2,actors=1").split(",")) {
+            String[] kv = part.split("=");
+            Endpoint endpoint = endpoints.get(kv[0].trim());
+            if (endpoint == null || kv.length != 2) {
+                throw new IllegalArgumentException("Bad --mix entry: " + part + " (endpoints " + endpoints.keySet() + ")");
+            }
+            for (int i = Integer.parseInt(kv[1].trim()); i > 0; i--) {
+                slots.add(endpoint);
+            }
+        }
+        schedule = slots.toArray(new Endpoint[0]);
+    }
+
+    public static void main(String[] argv) throws Exception {
+        Args args = new Args(argv);
+        LoadDriver driver = new LoadDriver(args);
+        driver.discover();
+        driver.run();
+        driver.report(System.out);
+        String json = args.get("json", null);
+        if (json != null) {
+            try (Writer out = Files.newBufferedWriter(Path.of(json), StandardCharsets.UTF_8)) {
+                driver.writeJson(out);
+            }
+        }
+    }
+
+    /** Reads the movie ids/years (keyset paging) and actor ids the requests will use. */
+    private void discover() throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>();
+        List<Integer> yearList = new ArrayList<>();
+        String after = null;
+        do {
+            String url = base + "/movies?limit=500"
+                + (after == null ? "" : "&after=" + URLEncoder.encode(after, StandardCharsets.UTF_8));
+            JsonObject page = getJson(url).asJsonObject();
+            for (JsonValue item : page.getJsonArray("items")) {
+                JsonObject movie = item.asJsonObject();
+                ids.add(movie.getJsonNumber("id").longValue());
+                yearList.add(movie.getInt("year"));
+            }
+            // The last page has no nextCursor at all
+            after = page.getString("nextCursor", null);
+        } while (after != null);
+
+        JsonArray actors = getJson(base + "/actors").asJsonArray();
+        if (ids.isEmpty() || actors.isEmpty()) {
+            throw new IllegalStateException("No movies or actors at " + base + "; load a catalog first");
+        }
+        movieIds = ids.stream().mapToLong(Long::longValue).toArray();
+        years = yearList.stream().mapToInt(Integer::intValue).distinct().toArray();
+        actorIds = actors.stream().mapToLong(a -> a.asJsonObject().getJsonNumber("id").longValue()).toArray();
+        System.out.printf("Discovered %d movies, %d years, %d actors%n", movieIds.length, years.length, actorIds.length);
+    }
+
+    private JsonValue getJson(String url) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(
+            HttpRequest.newBuilder(URI.create(url)).header("Accept", "application/json").build(),
+            HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + url + " returned " + response.statusCode());
+        }
+        try (JsonReader reader = Json.createReader(new StringReader(response.body()))) {
+            return reader.readValue();
+        }
+    }
+
+    private void run() throws InterruptedException {
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        System.out.printf("Running %d req/s: %ds warm-up, %ds measured%n", rate, warmup.toSeconds(), duration.toSeconds());
+
+        for (long n = 0; ; n++) {
+            long intended = start + n * interval;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = schedule[random.nextInt(schedule.length)];
+            HttpRequest request = HttpRequest.newBuilder(URI.create(base + endpoint.nextPath()))
+                .header("Accept", "application/json")
+                .build();
+            boolean measured = intended >= measureFrom;
+            // Waiting for a permit still counts against this request: latency is taken from 'intended'
+            inFlight.acquire();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    inFlight.release();
+                    if (measured) {
+                        endpoint.record(System.nanoTime() - intended, error == null && response.statusCode() < 400);
+                    }
+                });
+        }
+        // Drain outstanding requests
+        if (inFlight.tryAcquire(maxInFlight, 30, TimeUnit.SECONDS)) {
+            inFlight.release(maxInFlight);
+        }
+    }
+
+    private void report(PrintStream out) {
+        double seconds = duration.toNanos() / 1e9;
+        out.printf("%n%-8s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Endpoint e : endpoints.values()) {
+            Histogram h = e.latency;
+            out.printf("%-8s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                e.name, h.getTotalCount(), e.errors.sum(), h.getTotalCount() / seconds,
+                millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue()));
+        }
+    }
+
+    private void writeJson(Writer writer) {
+        double seconds = duration.toNanos() / 1e9;
+        JsonObjectBuilder results = Json.createObjectBuilder();
+        for (Endpoint e : endpoints.values()) {
+            Histogram h = e.latency;
+            results.add(e.name, Json.createObjectBuilder()
+                .add("requests", h.getTotalCount())
+                .add("errors", e.errors.sum())
+                .add("throughputPerSecond", h.getTotalCount() / seconds)
+                .add("latencyMs", Json.createObjectBuilder()
+                    .add("p50", millis(h.getValueAtPercentile(50)))
+                    .add("p90", millis(h.getValueAtPercentile(90)))
+                    .add("p99", millis(h.getValueAtPercentile(99)))
+                    .add("p99.9", millis(h.getValueAtPercentile(99.9)))
+                    .add("max", millis(h.getMaxValue()))
+                    .add("mean", h.getMean() / 1000.0)));
+        }
+        JsonObject report = Json.createObjectBuilder()
+            .add("base", base)
+            .add("variant", variant.isEmpty() ? "sync" : "async")
+            .add("targetRate", rate)
+            .add("warmupSeconds", warmup.toSeconds())
+            .add("durationSeconds", duration.toSeconds())
+            .add("endpoints", results)
+            .build();
+        Json.createWriterFactory(Map.of(JsonGenerator.PRETTY_PRINTING, true)).createWriter(writer).write(report);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /** One endpoint under test: how to build its next URL, and what it measured. */
+    private final class Endpoint {
+        final String name;
+        final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+
+        Endpoint(String name) {
+            this.name = name;
+        }
+
+        String nextPath() {
+            switch (name) {
+                case "list":
+                    return "/movies" + variant + "?limit=" + pageSize;
+                case "detail":
+                    return "/movies" + variant + "/" + movieIds[random.nextInt(movieIds.length)];
+                case "year":
+                    return "/movies" + variant + "/year/" + years[random.nextInt(years.length)];
+                default:
+                    StringJoiner ids = new StringJoiner(",");
+                    for (int i = 0; i < actorIdsPerRequest; i++) {
+                        ids.add(Long.toString(actorIds[random.nextInt(actorIds.length)]));
+                    }
+                    return "/actors" + variant + "/" + ids;
+            }
+        }
+
+        void record(long nanos, boolean ok) {
+            latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), MAX_LATENCY_MICROS));
+            if (!ok) {
+                errors.increment();
+            }
+        }
+    }
+}
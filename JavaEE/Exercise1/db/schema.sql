@@ -1,18 +1,26 @@
 CREATE DATABASE IF NOT EXISTS javaee CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
 USE javaee;
 
+-- Id sequences used by the JPA entities (pooled, allocationSize 50) so inserts can be batched.
+-- They start above the rows seeded by data.sql, which still use AUTO_INCREMENT.
+CREATE SEQUENCE DIRECTOR_SEQ START WITH 1000 INCREMENT BY 50;
+CREATE SEQUENCE ACTOR_SEQ START WITH 1000 INCREMENT BY 50;
+CREATE SEQUENCE MOVIE_SEQ START WITH 1000 INCREMENT BY 50;
+
 CREATE TABLE DIRECTOR (
   id INT PRIMARY KEY AUTO_INCREMENT,
   first_name VARCHAR(30) NOT NULL,
   last_name  VARCHAR(30) NOT NULL,
-  birth_date DATE
+  birth_date DATE,
+  version BIGINT NOT NULL DEFAULT 0
 );
 
 CREATE TABLE ACTOR (
   id INT PRIMARY KEY AUTO_INCREMENT,
   first_name VARCHAR(30) NOT NULL,
   last_name  VARCHAR(30) NOT NULL,
-  birth_date DATE
+  birth_date DATE,
+  version BIGINT NOT NULL DEFAULT 0
 );
 
 CREATE TABLE MOVIE (
@@ -25,6 +33,8 @@ CREATE TABLE MOVIE (
   poster_url VARCHAR(1000),
   imdb_id VARCHAR(20) UNIQUE,
   director_id INT NOT NULL,
+  version BIGINT NOT NULL DEFAULT 0,
+  -- also serves the keyset pagination order of GET /api/movies?limit=&after=
   CONSTRAINT uq_movie_title_year UNIQUE (title, release_year),
   CONSTRAINT chk_runtime CHECK (runtime_min IS NULL OR runtime_min > 0),
   CONSTRAINT fk_movie_director FOREIGN KEY (director_id) REFERENCES DIRECTOR(id)
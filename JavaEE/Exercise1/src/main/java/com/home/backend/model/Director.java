@@ -1,5 +1,8 @@
 package com.home.backend.model;
 
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.json.bind.annotation.JsonbTransient;
 import jakarta.persistence.*;
 import java.io.Serializable;
 import java.time.LocalDate;
@@ -8,13 +11,22 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
+@Cacheable
 @Table(name = "DIRECTOR")
 public class Director implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence instead of IDENTITY so Hibernate can batch inserts
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "director_seq")
+    @SequenceGenerator(name = "director_seq", sequenceName = "DIRECTOR_SEQ", initialValue = 1000, allocationSize = 50)
     private Long id;
 
+    // Optimistic lock, and the version the REST resources tag responses with
+    @Version
+    @ColumnDefault("0")  // rows inserted by SQL scripts start at 0
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @Column(name = "first_name", nullable = false, length = 30)
     private String firstName;
 
@@ -24,6 +36,8 @@ public class Director implements Serializable {
     @Column(name = "birth_date")
     private LocalDate birthDate;
 
+    // Back-reference: never serialized, so a stray entity in a response can't walk the whole graph
+    @JsonbTransient
     @OneToMany(mappedBy = "director")
     private List<Movie> movies = new ArrayList<>();
 
@@ -35,6 +49,10 @@ public class Director implements Serializable {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public String getFirstName() {
         return firstName;
     }
@@ -5,6 +5,12 @@ import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Set;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -15,19 +21,35 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 
 @Entity
-@Table(name = "MOVIE")
+@Cacheable
+// The unique index on (title, release_year) also backs keyset pagination in MovieService.listPage;
+// the id tie-break never decides between two rows
+@Table(name = "MOVIE", uniqueConstraints = {
+    @UniqueConstraint(name = "uq_movie_title_year", columnNames = {"title", "release_year"})
+})
 public class Movie implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence instead of IDENTITY so Hibernate can batch inserts
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movie_seq")
+    @SequenceGenerator(name = "movie_seq", sequenceName = "MOVIE_SEQ", initialValue = 1000, allocationSize = 50)
     private Long id;
 
+    // Optimistic lock, and the version the REST resources tag responses with
+    @Version
+    @ColumnDefault("0")  // rows inserted by SQL scripts start at 0
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @NotBlank
     @Column(name = "title", nullable = false, length = 300)
     private String title;
@@ -57,6 +79,9 @@ public class Movie implements Serializable {
     private Director director;
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    // Paths that don't fetch actors up front load them for up to 50 movies per query, not one by one
+    @BatchSize(size = 50)
     @JoinTable(
         name = "MOVIE_ACTORS",
         joinColumns = @JoinColumn(name = "movie_id"),
@@ -72,6 +97,10 @@ public class Movie implements Serializable {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public String getTitle() {
         return title;
     }
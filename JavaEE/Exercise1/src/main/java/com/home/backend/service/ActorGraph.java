@@ -0,0 +1,183 @@
+package com.home.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.hibernate.Hibernate;
+
+import com.home.backend.model.Actor;
+import com.home.backend.model.Movie;
+
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+
+/**
+ * In-memory actor–movie graph for co-star and degrees-of-separation queries.
+ * <p>
+ * Built from the database at startup and kept current by observing committed
+ * cast changes. Queries run lock-free on an immutable {@link CastGraph}; changes
+ * are queued and applied in batches on the managed executor, each batch merging
+ * into a new graph that replaces the old one. A burst of writes therefore costs
+ * one merge, and readers never wait for it.
+ */
+@ApplicationScoped
+@Timed
+public class ActorGraph {
+
+    private static final Logger LOG = Logger.getLogger(ActorGraph.class.getName());
+
+    private static final FieldSelection MOVIE_FIELDS = FieldSelection.parse("title,year", MovieView.LIST_FIELDS);
+
+    @Inject
+    private MovieService movieService;
+
+    @Inject
+    private ActorLookupBatcher actorLookups;
+
+    @Resource
+    private ManagedExecutorService executor;
+
+    private volatile CastGraph graph = CastGraph.EMPTY;
+    // Serializes rebuilds and patches; readers only read the volatile field
+    private final Object writeMonitor = new Object();
+    private final PatchQueue<Change> patches =
+        new PatchQueue<>(writeMonitor, this::applyChanges, LOG, "Could not apply cast changes to actor graph");
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object ignored) {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // Database not ready: the graph stays empty until the next rebuild or cast changes
+            LOG.log(Level.WARNING, "Could not build actor graph at startup", e);
+        }
+    }
+
+    /**
+     * Re-reads all cast links and replaces the graph. Changes queued meanwhile
+     * are applied afterwards; they replace whole casts, so applying one that
+     * the new graph already contains is harmless.
+     */
+    public void rebuild() {
+        synchronized (writeMonitor) {
+            CastLinks links = new CastLinks();
+            movieService.forEachCastLink(links::add);
+            CastGraph fresh = CastGraph.of(links.movies, links.actors, links.size);
+            graph = fresh;
+            LOG.info("Actor graph built with " + fresh.actorCount() + " actors, " + fresh.movieCount()
+                + " movies and " + fresh.linkCount() + " cast links");
+        }
+    }
+
+    void onCastChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) EntityChangedEvent event) {
+        Change change;
+        if (event.entityType() == Movie.class) {
+            Movie m = (Movie) event.entity();
+            if (event.kind() == EntityChangedEvent.Kind.DELETED) {
+                change = new Change(m.getId(), new long[0], null);
+            } else if (m.getActors() != null && Hibernate.isInitialized(m.getActors())) {
+                // An uninitialized cast was never touched, so the graph already has it
+                change = new Change(m.getId(), CastLinks.castOf(m), null);
+            } else {
+                return;
+            }
+        } else if (event.entityType() == Actor.class && event.kind() == EntityChangedEvent.Kind.DELETED) {
+            change = new Change(null, null, ((Actor) event.entity()).getId());
+        } else {
+            return;
+        }
+        patches.add(change, executor);
+    }
+
+    private void applyChanges(List<Change> changes) {
+        SortedMap<Long, long[]> casts = new TreeMap<>();
+        Set<Long> removedActors = new HashSet<>();
+        for (Change c : changes) {
+            if (c.movieId() != null) casts.put(c.movieId(), c.cast());
+            if (c.removedActorId() != null) removedActors.add(c.removedActorId());
+        }
+        if (!casts.isEmpty() || !removedActors.isEmpty()) {
+            graph = graph.withChanges(casts, removedActors);
+        }
+    }
+
+    /**
+     * Actors who appeared in a movie with the given one.
+     * @param actorId Actor id
+     * @param limit Maximum number of co-stars
+     * @return Co-stars, most shared movies first, then by id
+     */
+    public List<CostarView> costars(long actorId, int limit) {
+        List<CastGraph.Costar> found = graph.costars(actorId, limit);
+        if (found.isEmpty()) return List.of();
+        List<Long> ids = new ArrayList<>(found.size());
+        for (CastGraph.Costar c : found) ids.add(c.actorId());
+        Map<Long, PersonView> views = viewsById(ids);
+        List<CostarView> result = new ArrayList<>(found.size());
+        for (CastGraph.Costar c : found) {
+            PersonView view = views.get(c.actorId());
+            // Deleted since the graph was last patched
+            if (view != null) result.add(new CostarView(view, c.sharedMovies()));
+        }
+        return result;
+    }
+
+    /**
+     * Shortest chain of shared movies between two actors.
+     * @param fromActorId Start actor
+     * @param toActorId End actor
+     * @return The chain, or null if the actors are not connected
+     */
+    public ActorPathView path(long fromActorId, long toActorId) {
+        long[] path = graph.path(fromActorId, toActorId);
+        if (path.length == 0) return null;
+        List<Long> actorIds = new ArrayList<>(path.length / 2 + 1);
+        List<Long> movieIds = new ArrayList<>(path.length / 2);
+        for (int i = 0; i < path.length; i++) {
+            (i % 2 == 0 ? actorIds : movieIds).add(path[i]);
+        }
+        Map<Long, PersonView> actors = viewsById(actorIds);
+        Map<Long, Map<String, Object>> movies = new HashMap<>();
+        for (Map<String, Object> m : movieService.findFieldsByIds(movieIds, MOVIE_FIELDS)) {
+            movies.put((Long) m.get("id"), m);
+        }
+        List<PersonView> actorChain = new ArrayList<>(actorIds.size());
+        for (Long id : actorIds) actorChain.add(actors.get(id));
+        List<Map<String, Object>> movieChain = new ArrayList<>(movieIds.size());
+        for (Long id : movieIds) movieChain.add(movies.get(id));
+        if (actorChain.contains(null) || movieChain.contains(null)) {
+            // Something on the chain was deleted and the patch is still queued
+            return null;
+        }
+        return new ActorPathView(movieIds.size(), actorChain, movieChain);
+    }
+
+    private Map<Long, PersonView> viewsById(List<Long> ids) {
+        Map<Long, PersonView> views = new HashMap<>();
+        for (PersonView v : actorLookups.findViewsByIds(ids)) views.put(v.id(), v);
+        return views;
+    }
+
+    /**
+     * @return Number of cast links in the graph
+     */
+    public int size() {
+        return graph.linkCount();
+    }
+
+    /** A movie's new cast (empty when deleted), or an actor removed from every cast. */
+    private record Change(Long movieId, long[] cast, Long removedActorId) {
+    }
+}
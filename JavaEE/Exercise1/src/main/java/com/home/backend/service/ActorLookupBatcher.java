@@ -0,0 +1,158 @@
+package com.home.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Coalesces concurrent actor-by-id lookups into one query, DataLoader style.
+ * <p>
+ * The first caller to arrive opens a batch and becomes its leader. Callers
+ * arriving within actor-batch.window-ms (default 2) add their ids to it.
+ * The batch closes after the window, or as soon as it holds
+ * actor-batch.max-ids distinct ids (default 500). The leader then runs a
+ * single deduplicated {@link ActorService#findViewsByIds} on its own thread,
+ * and each caller takes its own slice of the result. Setting the window to 0
+ * turns batching off.
+ * <p>
+ * Counters on /api/metrics give the batching ratio
+ * (actor_batch_requests_total / actor_batch_queries_total) and the
+ * deduplication ratio (actor_batch_ids_requested_total / actor_batch_ids_queried_total).
+ */
+@ApplicationScoped
+public class ActorLookupBatcher {
+
+    @Inject
+    private ActorService actorService;
+
+    @Inject
+    private MetricsRegistry metrics;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Batch open; // guarded by lock
+
+    private long windowNanos;
+    private int maxIds;
+    private LongAdder requests;
+    private LongAdder queries;
+    private LongAdder idsRequested;
+    private LongAdder idsQueried;
+
+    @PostConstruct
+    void init() {
+        windowNanos = TimeUnit.MILLISECONDS.toNanos(Settings.getLong("actor-batch.window-ms", 2));
+        maxIds = Settings.getInt("actor-batch.max-ids", 500);
+        requests = metrics.counter("actor_batch_requests_total", "Actor-by-id lookups requested.");
+        queries = metrics.counter("actor_batch_queries_total", "Database queries run for actor-by-id lookups.");
+        idsRequested = metrics.counter("actor_batch_ids_requested_total", "Actor ids asked for, before deduplication.");
+        idsQueried = metrics.counter("actor_batch_ids_queried_total", "Distinct actor ids sent to the database.");
+    }
+
+    /**
+     * Looks up actors by id, sharing the query with concurrent callers.
+     * @param ids Actor ids; duplicates and unknown ids are fine
+     * @return Read models of the actors found, ordered by last name then first name
+     */
+    public List<PersonView> findViewsByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        requests.increment();
+        idsRequested.add(ids.size());
+        if (windowNanos == 0) {
+            return query(new HashSet<>(ids));
+        }
+
+        Batch batch;
+        boolean leader;
+        lock.lock();
+        try {
+            leader = open == null;
+            if (leader) {
+                open = new Batch(lock.newCondition());
+            }
+            batch = open;
+            batch.ids.addAll(ids);
+            if (batch.ids.size() >= maxIds) {
+                open = null;
+                batch.full.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (leader) {
+            awaitWindow(batch);
+            try {
+                batch.result.complete(query(batch.ids));
+            } catch (RuntimeException e) {
+                batch.result.completeExceptionally(e);
+            }
+        }
+        return sliceOf(batch, ids);
+    }
+
+    /** Lets other callers join until the window ends or the batch is full. */
+    private void awaitWindow(Batch batch) {
+        lock.lock();
+        try {
+            long remaining = windowNanos;
+            while (open == batch && remaining > 0) {
+                remaining = batch.full.awaitNanos(remaining);
+            }
+            if (open == batch) {
+                open = null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (open == batch) {
+                open = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<PersonView> query(Set<Long> ids) {
+        queries.increment();
+        idsQueried.add(ids.size());
+        return actorService.findViewsByIds(new ArrayList<>(ids));
+    }
+
+    private static List<PersonView> sliceOf(Batch batch, List<Long> ids) {
+        List<PersonView> all;
+        try {
+            all = batch.result.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        Set<Long> wanted = new HashSet<>(ids);
+        List<PersonView> slice = new ArrayList<>(Math.min(wanted.size(), all.size()));
+        for (PersonView actor : all) {
+            if (wanted.contains(actor.id())) slice.add(actor);
+        }
+        return slice;
+    }
+
+    private static final class Batch {
+        // Written under the lock while open; read by the leader only after it is closed
+        final Set<Long> ids = new HashSet<>();
+        final Condition full;
+        final CompletableFuture<List<PersonView>> result = new CompletableFuture<>();
+
+        Batch(Condition full) {
+            this.full = full;
+        }
+    }
+}
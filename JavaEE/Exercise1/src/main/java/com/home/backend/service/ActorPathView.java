@@ -0,0 +1,14 @@
+package com.home.backend.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shortest chain of shared movies between two actors: {@code movies.get(i)}
+ * links {@code actors.get(i)} and {@code actors.get(i + 1)}.
+ * @param degrees Number of movies in the chain
+ * @param actors Actors from start to end
+ * @param movies Movies as id, title and year
+ */
+public record ActorPathView(int degrees, List<PersonView> actors, List<Map<String, Object>> movies) {
+}
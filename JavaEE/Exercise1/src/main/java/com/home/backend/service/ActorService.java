@@ -1,18 +1,34 @@
 package com.home.backend.service;
 
+import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+
+import org.hibernate.Session;
 
 import com.home.backend.model.Actor;
 
 import jakarta.ejb.Stateless;
+import jakarta.inject.Inject;
 
 /**
  * Service for managing Actor entities.
  * Extends BaseService for common CRUD operations.
  */
 @Stateless
+@Timed
 public class ActorService extends BaseService<Actor> {
 
+    private static final String PERSON_VIEW =
+        "SELECT NEW com.home.backend.service.PersonView(a.id, a.firstName, a.lastName, a.birthDate) ";
+    // Large id sets: the ids arrive as one array parameter, read as a table and joined on the primary key
+    private static final String ARRAY_JOIN =
+        "FROM TABLE(id BIGINT = ?1) f JOIN ACTOR a ON a.id = f.id ORDER BY a.last_name, a.first_name";
+
+    @Inject
+    private InListStrategy inLists;
+
     @Override
     protected Class<Actor> getEntityClass() {
         return Actor.class;
@@ -24,14 +40,14 @@ public class ActorService extends BaseService<Actor> {
      */
     @Override
     public List<Actor> findAll() {
-        return entityManager.createQuery(
+        return slowQueries.list(entityManager.createQuery(
             "SELECT a FROM Actor a ORDER BY a.lastName, a.firstName",
             Actor.class
-        ).getResultList();
+        ));
     }
 
     /**
-     * Finds multiple actors by their IDs.
+     * Finds multiple actors by their IDs. Any number of ids is fine; see {@link InListStrategy}.
      * @param ids List of actor IDs
      * @return List of actors matching the provided IDs
      */
@@ -39,10 +55,63 @@ public class ActorService extends BaseService<Actor> {
         if (ids == null || ids.isEmpty()) {
             return List.of();
         }
-        return entityManager.createQuery(
-            "SELECT a FROM Actor a WHERE a.id IN :ids ORDER BY a.lastName, a.firstName",
-            Actor.class
-        ).setParameter("ids", ids).getResultList();
+        return inLists.find(entityManager, ids,
+            chunk -> slowQueries.list(entityManager.createQuery(
+                "SELECT a FROM Actor a WHERE a.id IN :ids ORDER BY a.lastName, a.firstName",
+                Actor.class
+            ).setParameter("ids", chunk)),
+            array -> slowQueries.list(entityManager.unwrap(Session.class)
+                .createNativeQuery("SELECT a.* " + ARRAY_JOIN, Actor.class)
+                .addSynchronizedEntityClass(Actor.class)
+                .setParameter(1, array)),
+            Comparator.comparing(Actor::getLastName).thenComparing(Actor::getFirstName));
+    }
+
+    /**
+     * Lists all actors as read models, ordered by last name then first name.
+     * @return Actor read models
+     */
+    public List<PersonView> findAllViews() {
+        return slowQueries.list(entityManager.createQuery(
+            PERSON_VIEW + "FROM Actor a ORDER BY a.lastName, a.firstName",
+            PersonView.class
+        ));
+    }
+
+    /**
+     * Lists all actors with only the selected fields, ordered by last name then first name.
+     * @param fields Fields of {@link PersonView#FIELDS} to load
+     * @return One field map per actor
+     */
+    public List<Map<String, Object>> findAllFields(FieldSelection fields) {
+        return findFields(fields, "ORDER BY e.lastName, e.firstName", Map.of());
+    }
+
+    /**
+     * Finds actors by their IDs as read models.
+     * Any number of ids is fine; see {@link InListStrategy}.
+     * @param ids List of actor IDs
+     * @return Read models of the matching actors
+     */
+    public List<PersonView> findViewsByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return inLists.find(entityManager, ids,
+            chunk -> slowQueries.list(entityManager.createQuery(
+                PERSON_VIEW + "FROM Actor a WHERE a.id IN :ids ORDER BY a.lastName, a.firstName",
+                PersonView.class
+            ).setParameter("ids", chunk)),
+            array -> slowQueries.list(entityManager.unwrap(Session.class)
+                .createNativeQuery("SELECT a.id, a.first_name, a.last_name, a.birth_date " + ARRAY_JOIN, Object[].class)
+                .addScalar("id", Long.class)
+                .addScalar("first_name", String.class)
+                .addScalar("last_name", String.class)
+                .addScalar("birth_date", LocalDate.class)
+                .setTupleTransformer((row, aliases) ->
+                    new PersonView((Long) row[0], (String) row[1], (String) row[2], (LocalDate) row[3]))
+                .setParameter(1, array)),
+            Comparator.comparing(PersonView::lastName).thenComparing(PersonView::firstName));
     }
 
     /**
@@ -1,10 +1,15 @@
 package com.home.backend.service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
 
 /**
  * Base service class providing common CRUD operations.
@@ -15,6 +20,13 @@ public abstract class BaseService<T> {
     @PersistenceContext
     protected EntityManager entityManager;
 
+    @Inject
+    private Event<EntityChangedEvent> changes;
+
+    /** Subclasses run their queries through this so slow ones are recorded. */
+    @Inject
+    protected SlowQueryLog slowQueries;
+
     protected abstract Class<T> getEntityClass();
 
     /**
@@ -37,7 +49,25 @@ public abstract class BaseService<T> {
     public List<T> findAll() {
         // Build JPQL query dynamically using the entity class name
         String jpql = "SELECT e FROM " + getEntityClass().getSimpleName() + " e";
-        return entityManager.createQuery(jpql, getEntityClass()).getResultList();
+        return slowQueries.list(entityManager.createQuery(jpql, getEntityClass()));
+    }
+
+    /**
+     * Loads only the selected fields of this entity, for {@code ?fields=}.
+     * @param fields Fields to select; their names must be attributes of the entity
+     * @param clauses WHERE and ORDER BY clauses, with the entity as alias e
+     * @param params Named parameters used in the clauses
+     * @return One field map per row
+     */
+    protected List<Map<String, Object>> findFields(FieldSelection fields, String clauses, Map<String, ?> params) {
+        TypedQuery<Object[]> query = entityManager.createQuery(
+            "SELECT " + fields.selectList("e") + " FROM " + getEntityClass().getSimpleName() + " e " + clauses,
+            Object[].class);
+        params.forEach(query::setParameter);
+        List<Object[]> rows = slowQueries.list(query);
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) result.add(fields.toMap(row));
+        return result;
     }
 
     /**
@@ -46,15 +76,21 @@ public abstract class BaseService<T> {
      */
     public void create(T entity) {
         entityManager.persist(entity);
+        fireChanged(entity, EntityChangedEvent.Kind.CREATED);
     }
 
     /**
-     * Merges an existing entity.
+     * Merges an existing entity. The entity has to carry the {@code @Version} it
+     * was read with; if the row was updated since, the merge fails instead of
+     * overwriting that update.
      * @param entity The entity to update
      * @return The updated entity
+     * @throws jakarta.persistence.OptimisticLockException If the entity is stale
      */
     public T update(T entity) {
-        return entityManager.merge(entity);
+        T merged = entityManager.merge(entity);
+        fireChanged(merged, EntityChangedEvent.Kind.UPDATED);
+        return merged;
     }
 
     /**
@@ -63,6 +99,14 @@ public abstract class BaseService<T> {
      */
     public void delete(T entity) {
         entityManager.remove(entityManager.contains(entity) ? entity : entityManager.merge(entity));
+        fireChanged(entity, EntityChangedEvent.Kind.DELETED);
+    }
+
+    /**
+     * Notifies observers (e.g. {@link ReferenceDataCache}) that this entity type changed.
+     */
+    protected void fireChanged(T entity, EntityChangedEvent.Kind kind) {
+        changes.fire(new EntityChangedEvent(getEntityClass(), entity, kind));
     }
 
     /**
@@ -70,9 +114,9 @@ public abstract class BaseService<T> {
      * @return The total count
      */
     public long count() {
-        return entityManager.createQuery(
+        return slowQueries.single(entityManager.createQuery(
             "SELECT COUNT(e) FROM " + getEntityClass().getSimpleName() + " e",
             Long.class
-        ).getSingleResult();
+        ));
     }
 }
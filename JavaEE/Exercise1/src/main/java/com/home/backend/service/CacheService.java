@@ -0,0 +1,109 @@
+package com.home.backend.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import com.home.backend.model.Actor;
+import com.home.backend.model.Director;
+import com.home.backend.model.Movie;
+
+import jakarta.ejb.Stateless;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+
+/**
+ * Inspects and invalidates the JPA second-level/query cache of a running instance.
+ */
+@Stateless
+@Timed
+public class CacheService {
+
+    private static final Map<String, Class<?>> ENTITIES = Map.of(
+        "movies", Movie.class,
+        "directors", Director.class,
+        "actors", Actor.class
+    );
+
+    @PersistenceUnit(unitName = "moviesPU")
+    private EntityManagerFactory entityManagerFactory;
+
+    @Inject
+    private ReferenceDataCache referenceData;
+
+    @Inject
+    private CatalogVersion catalogVersion;
+
+    @Inject
+    private OmdbService omdbService;
+
+    /**
+     * Collects cache and database round-trip counters since startup (or the last reset).
+     * Comparing prepareStatementCount before and after a burst of requests shows
+     * how many of them actually reached the database.
+     * @return Counter name to value, in a stable order
+     */
+    public Map<String, Long> stats() {
+        Statistics s = statistics();
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("prepareStatementCount", s.getPrepareStatementCount());
+        stats.put("queryExecutionCount", s.getQueryExecutionCount());
+        stats.put("entityLoadCount", s.getEntityLoadCount());
+        stats.put("secondLevelCacheHitCount", s.getSecondLevelCacheHitCount());
+        stats.put("secondLevelCacheMissCount", s.getSecondLevelCacheMissCount());
+        stats.put("secondLevelCachePutCount", s.getSecondLevelCachePutCount());
+        stats.put("queryCacheHitCount", s.getQueryCacheHitCount());
+        stats.put("queryCacheMissCount", s.getQueryCacheMissCount());
+        stats.put("referenceDataHitCount", referenceData.getHits());
+        stats.put("referenceDataMissCount", referenceData.getMisses());
+        stats.put("omdbCacheHitCount", omdbService.getCache().getHits());
+        stats.put("omdbCacheMissCount", omdbService.getCache().getMisses());
+        stats.put("omdbCacheSize", (long) omdbService.getCache().size());
+        return stats;
+    }
+
+    public void resetStats() {
+        statistics().clear();
+    }
+
+    /**
+     * Evicts every entity, collection and query region, the reference-data lists,
+     * the OMDb response cache and, by moving the catalog version, precompressed responses.
+     */
+    public void evictAll() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        referenceData.invalidateAll();
+        catalogVersion.bump();
+        omdbService.getCache().clear();
+    }
+
+    /**
+     * Evicts one entity type, or a single instance of it when an id is given.
+     * Cached queries are dropped too since they may reference the evicted rows.
+     * @param entity One of "movies", "directors" or "actors"
+     * @param id Entity id, or null for all instances
+     * @return false if the entity name is unknown
+     */
+    public boolean evict(String entity, Long id) {
+        Class<?> type = ENTITIES.get(entity);
+        if (type == null) {
+            return false;
+        }
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        if (id == null) {
+            cache.evictEntityData(type);
+        } else {
+            cache.evictEntityData(type, id);
+        }
+        cache.evictQueryRegions();
+        referenceData.invalidate(type);
+        return true;
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,338 @@
+package com.home.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Immutable bipartite graph of movies and their actors in compressed sparse row
+ * form: ids are mapped to dense vertex numbers by binary search over sorted
+ * {@code long[]} id arrays, and each side's adjacency is one {@code int[]} of
+ * neighbours sliced by an offsets array. A million cast links take about 8 MB
+ * and no object per vertex or edge. Changes produce a new graph, see
+ * {@link #withChanges}.
+ */
+public final class CastGraph {
+
+    public static final CastGraph EMPTY = of(new long[0], new long[0], 0);
+
+    private final long[] movieIds;    // sorted, index = movie vertex
+    private final int[] movieStart;   // movie vertex -> first slot in movieActors, length movies + 1
+    private final int[] movieActors;  // actor vertices, ascending within each movie
+    private final long[] actorIds;    // sorted, index = actor vertex
+    private final int[] actorStart;
+    private final int[] actorMovies;  // movie vertices, ascending within each actor
+
+    // Search buffers are sized to this graph and reused across queries
+    private final ConcurrentLinkedQueue<Scratch> scratches = new ConcurrentLinkedQueue<>();
+
+    private CastGraph(long[] movieIds, int[] movieStart, int[] movieActors,
+                      long[] actorIds, int[] actorStart, int[] actorMovies) {
+        this.movieIds = movieIds;
+        this.movieStart = movieStart;
+        this.movieActors = movieActors;
+        this.actorIds = actorIds;
+        this.actorStart = actorStart;
+        this.actorMovies = actorMovies;
+    }
+
+    /**
+     * Builds a graph from cast links given as two parallel arrays.
+     * @param linkMovies Movie id of each link, ascending
+     * @param linkActors Actor id of each link, ascending within a movie, no duplicates
+     * @param links Number of links used from the arrays
+     * @return The graph
+     */
+    public static CastGraph of(long[] linkMovies, long[] linkActors, int links) {
+        long[] actorIds = Arrays.copyOf(linkActors, links);
+        Arrays.sort(actorIds);
+        int actors = 0;
+        for (int i = 0; i < links; i++) {
+            if (actors == 0 || actorIds[i] != actorIds[actors - 1]) actorIds[actors++] = actorIds[i];
+        }
+        actorIds = Arrays.copyOf(actorIds, actors);
+
+        int movies = 0;
+        for (int i = 0; i < links; i++) {
+            if (i == 0 || linkMovies[i] != linkMovies[i - 1]) movies++;
+        }
+        long[] movieIds = new long[movies];
+        int[] movieStart = new int[movies + 1];
+        int[] movieActors = new int[links];
+        int[] actorStart = new int[actors + 1];
+        int movie = -1;
+        for (int i = 0; i < links; i++) {
+            if (i == 0 || linkMovies[i] != linkMovies[i - 1]) {
+                movieIds[++movie] = linkMovies[i];
+                movieStart[movie] = i;
+            }
+            int actor = Arrays.binarySearch(actorIds, linkActors[i]);
+            movieActors[i] = actor;
+            actorStart[actor + 1]++;
+        }
+        movieStart[movies] = links;
+
+        // Counting sort of the links by actor; walking movies in order keeps each row ascending
+        for (int a = 0; a < actors; a++) actorStart[a + 1] += actorStart[a];
+        int[] next = Arrays.copyOf(actorStart, actors);
+        int[] actorMovies = new int[links];
+        for (int m = 0; m < movies; m++) {
+            for (int i = movieStart[m]; i < movieStart[m + 1]; i++) {
+                actorMovies[next[movieActors[i]]++] = m;
+            }
+        }
+        return new CastGraph(movieIds, movieStart, movieActors, actorIds, actorStart, actorMovies);
+    }
+
+    /**
+     * Returns a new graph with some casts replaced and some actors removed; this one is unchanged.
+     * @param casts Movie id to its complete new cast (sorted actor ids, empty to drop the movie)
+     * @param removedActors Actors to drop from every cast
+     * @return The patched graph
+     */
+    public CastGraph withChanges(SortedMap<Long, long[]> casts, Set<Long> removedActors) {
+        int capacity = movieActors.length;
+        for (long[] cast : casts.values()) capacity += cast.length;
+        long[] linkMovies = new long[capacity];
+        long[] linkActors = new long[capacity];
+        int links = 0;
+
+        // Merge the existing movies with the changed ones, both in id order
+        int m = 0;
+        var changed = casts.entrySet().iterator();
+        Map.Entry<Long, long[]> change = changed.hasNext() ? changed.next() : null;
+        while (m < movieIds.length || change != null) {
+            if (change == null || (m < movieIds.length && movieIds[m] < change.getKey())) {
+                for (int i = movieStart[m]; i < movieStart[m + 1]; i++) {
+                    long actor = actorIds[movieActors[i]];
+                    if (removedActors.contains(actor)) continue;
+                    linkMovies[links] = movieIds[m];
+                    linkActors[links++] = actor;
+                }
+                m++;
+            } else {
+                if (m < movieIds.length && movieIds[m] == change.getKey()) m++;
+                for (long actor : change.getValue()) {
+                    if (removedActors.contains(actor)) continue;
+                    linkMovies[links] = change.getKey();
+                    linkActors[links++] = actor;
+                }
+                change = changed.hasNext() ? changed.next() : null;
+            }
+        }
+        return of(linkMovies, linkActors, links);
+    }
+
+    public int movieCount() {
+        return movieIds.length;
+    }
+
+    public int actorCount() {
+        return actorIds.length;
+    }
+
+    public int linkCount() {
+        return movieActors.length;
+    }
+
+    /**
+     * Actors who share at least one movie with the given actor.
+     * @param actorId Actor id
+     * @param limit Maximum number of co-stars
+     * @return Co-stars, most shared movies first, then by actor id
+     */
+    public List<Costar> costars(long actorId, int limit) {
+        int a = Arrays.binarySearch(actorIds, actorId);
+        if (a < 0 || limit <= 0) return List.of();
+        int size = 0;
+        for (int i = actorStart[a]; i < actorStart[a + 1]; i++) {
+            int m = actorMovies[i];
+            size += movieStart[m + 1] - movieStart[m] - 1;
+        }
+        int[] seen = new int[size];
+        int n = 0;
+        for (int i = actorStart[a]; i < actorStart[a + 1]; i++) {
+            int m = actorMovies[i];
+            for (int j = movieStart[m]; j < movieStart[m + 1]; j++) {
+                if (movieActors[j] != a) seen[n++] = movieActors[j];
+            }
+        }
+        Arrays.sort(seen, 0, n);
+
+        // One long per co-star: shared count in the high half, inverted vertex in the low half,
+        // so an ascending sort puts the best last and ties in id order
+        long[] ranked = new long[n];
+        int distinct = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j < n && seen[j] == seen[i]) j++;
+            ranked[distinct++] = ((long) (j - i) << 32) | (Integer.MAX_VALUE - seen[i]);
+            i = j;
+        }
+        Arrays.sort(ranked, 0, distinct);
+        int count = Math.min(limit, distinct);
+        List<Costar> result = new ArrayList<>(count);
+        for (int i = distinct - 1; i >= distinct - count; i--) {
+            result.add(new Costar(actorIds[Integer.MAX_VALUE - (int) ranked[i]], (int) (ranked[i] >>> 32)));
+        }
+        return result;
+    }
+
+    /**
+     * Shortest chain of shared movies between two actors, by bidirectional
+     * breadth-first search that always grows the smaller frontier.
+     * @param fromActorId Start actor
+     * @param toActorId End actor
+     * @return Alternating actor and movie ids, starting and ending with an actor;
+     *         empty if the actors are not connected or not in any movie
+     */
+    public long[] path(long fromActorId, long toActorId) {
+        int from = Arrays.binarySearch(actorIds, fromActorId);
+        int to = Arrays.binarySearch(actorIds, toActorId);
+        if (from < 0 || to < 0) return new long[0];
+        if (from == to) return new long[] {fromActorId};
+
+        Scratch s = scratches.poll();
+        if (s == null) s = new Scratch(actorIds.length, movieIds.length);
+        try {
+            return search(s, from, to);
+        } finally {
+            scratches.offer(s);
+        }
+    }
+
+    private long[] search(Scratch s, int from, int to) {
+        int stamp = s.nextStamp();
+        Side forward = s.forward;
+        Side backward = s.backward;
+        forward.start(from, stamp);
+        backward.start(to, stamp);
+        while (forward.size > 0 && backward.size > 0) {
+            boolean growForward = forward.size <= backward.size;
+            Side near = growForward ? forward : backward;
+            Side far = growForward ? backward : forward;
+            int meet = expand(near, far, stamp);
+            if (meet >= 0) {
+                return chain(forward, backward, meet);
+            }
+        }
+        return new long[0];
+    }
+
+    /** Expands one whole level of near; returns the first actor also reached by far, or -1. */
+    private int expand(Side near, Side far, int stamp) {
+        int[] frontier = near.frontier;
+        int[] next = near.next;
+        int size = near.size;
+        int nextSize = 0;
+        for (int f = 0; f < size; f++) {
+            int actor = frontier[f];
+            for (int i = actorStart[actor]; i < actorStart[actor + 1]; i++) {
+                int movie = actorMovies[i];
+                if (near.movieMark[movie] == stamp) continue;
+                near.movieMark[movie] = stamp;
+                for (int j = movieStart[movie]; j < movieStart[movie + 1]; j++) {
+                    int costar = movieActors[j];
+                    if (near.actorMark[costar] == stamp) continue;
+                    near.actorMark[costar] = stamp;
+                    near.parentActor[costar] = actor;
+                    near.parentMovie[costar] = movie;
+                    if (far.actorMark[costar] == stamp) {
+                        return costar;
+                    }
+                    next[nextSize++] = costar;
+                }
+            }
+        }
+        near.frontier = next;
+        near.next = frontier;
+        near.size = nextSize;
+        return -1;
+    }
+
+    /** Joins the parent chains of both searches at the meeting actor. */
+    private long[] chain(Side forward, Side backward, int meet) {
+        int i = 2 * depth(forward, meet);
+        long[] path = new long[i + 2 * depth(backward, meet) + 1];
+        path[i] = actorIds[meet];
+        for (int a = meet, p = i; a != forward.root; a = forward.parentActor[a]) {
+            path[--p] = movieIds[forward.parentMovie[a]];
+            path[--p] = actorIds[forward.parentActor[a]];
+        }
+        for (int a = meet, p = i; a != backward.root; a = backward.parentActor[a]) {
+            path[++p] = movieIds[backward.parentMovie[a]];
+            path[++p] = actorIds[backward.parentActor[a]];
+        }
+        return path;
+    }
+
+    private static int depth(Side side, int actor) {
+        int depth = 0;
+        for (int a = actor; a != side.root; a = side.parentActor[a]) depth++;
+        return depth;
+    }
+
+    /**
+     * @param actorId Co-star's actor id
+     * @param sharedMovies Number of movies both actors appear in
+     */
+    public record Costar(long actorId, int sharedMovies) {
+    }
+
+    /** Per-query buffers of both search directions; marks are stamped so they never need clearing. */
+    private static final class Scratch {
+        final Side forward;
+        final Side backward;
+        int stamp;
+
+        Scratch(int actors, int movies) {
+            forward = new Side(actors, movies);
+            backward = new Side(actors, movies);
+        }
+
+        int nextStamp() {
+            if (stamp == Integer.MAX_VALUE) {
+                forward.clear();
+                backward.clear();
+                stamp = 0;
+            }
+            return ++stamp;
+        }
+    }
+
+    private static final class Side {
+        final int[] actorMark;
+        final int[] movieMark;
+        final int[] parentActor;
+        final int[] parentMovie;
+        int[] frontier;
+        int[] next;
+        int size;
+        int root;
+
+        Side(int actors, int movies) {
+            actorMark = new int[actors];
+            movieMark = new int[movies];
+            parentActor = new int[actors];
+            parentMovie = new int[actors];
+            frontier = new int[actors];
+            next = new int[actors];
+        }
+
+        void start(int actor, int stamp) {
+            root = actor;
+            actorMark[actor] = stamp;
+            frontier[0] = actor;
+            size = 1;
+        }
+
+        void clear() {
+            Arrays.fill(actorMark, 0);
+            Arrays.fill(movieMark, 0);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.home.backend.service;
+
+import java.util.Arrays;
+
+import com.home.backend.model.Actor;
+import com.home.backend.model.Movie;
+
+/**
+ * Growable pair of primitive arrays that collects (movie id, actor id) links
+ * from {@link MovieService#forEachCastLink} without boxing them, for the
+ * indexes built on casts; {@link #castOf} gives them a changed movie's cast.
+ */
+final class CastLinks {
+
+    long[] movies = new long[1024];
+    long[] actors = new long[1024];
+    int size;
+
+    void add(Long movie, Long actor) {
+        if (size == movies.length) {
+            movies = Arrays.copyOf(movies, size * 2);
+            actors = Arrays.copyOf(actors, size * 2);
+        }
+        movies[size] = movie;
+        actors[size++] = actor;
+    }
+
+    /**
+     * @param m Movie with initialized actors
+     * @return Ids of its persisted actors, sorted
+     */
+    static long[] castOf(Movie m) {
+        long[] cast = new long[m.getActors().size()];
+        int n = 0;
+        for (Actor a : m.getActors()) {
+            if (a.getId() != null) cast[n++] = a.getId();
+        }
+        cast = Arrays.copyOf(cast, n);
+        Arrays.sort(cast);
+        return cast;
+    }
+}
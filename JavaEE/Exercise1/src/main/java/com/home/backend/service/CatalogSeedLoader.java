@@ -0,0 +1,139 @@
+package com.home.backend.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.logging.Logger;
+
+import org.hibernate.JDBCException;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceUnit;
+
+/**
+ * Loads a SQL catalog file (e.g. one written by the load-test generator) into
+ * the database at startup when {@code catalog.seed-file} / {@code CATALOG_SEED_FILE}
+ * is set. Plain JDBC on the persistence unit's own connection, outside any JTA
+ * transaction and committed every few statements, so large catalogs do not run
+ * into the transaction timeout.
+ */
+@Stateless
+public class CatalogSeedLoader {
+
+    private static final Logger LOG = Logger.getLogger(CatalogSeedLoader.class.getName());
+
+    private static final int STATEMENTS_PER_COMMIT = 20;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @PersistenceUnit(unitName = "moviesPU")
+    private EntityManagerFactory entityManagerFactory;
+
+    @Inject
+    private ReferenceDataCache referenceData;
+
+    @Inject
+    private CatalogVersion catalogVersion;
+
+    @Inject
+    private MovieSearchIndex searchIndex;
+
+    @Inject
+    private ActorGraph actorGraph;
+
+    @Inject
+    private MovieSimilarity similarity;
+
+    @Inject
+    private NameSuggestions nameSuggestions;
+
+    @Inject
+    private MovieChangeLog changeLog;
+
+    /**
+     * Runs the configured seed file, if any.
+     * @return Number of statements executed (0 when no file is configured)
+     */
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public long loadConfigured() {
+        String file = Settings.get("catalog.seed-file", null);
+        if (file == null) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        long statements = load(Path.of(file));
+        // Rows were written behind Hibernate's back
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        referenceData.invalidateAll();
+        catalogVersion.bump();
+        searchIndex.rebuild();
+        actorGraph.rebuild();
+        similarity.rebuild();
+        nameSuggestions.rebuild();
+        changeLog.reset("reload");
+        LOG.info("Loaded catalog " + file + ": " + statements + " statements in "
+            + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return statements;
+    }
+
+    private long load(Path file) {
+        long[] executed = {0};
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            // No transaction is active here, so the connection is ours to commit
+            entityManager.unwrap(Session.class).doWork(connection -> run(in, connection, executed));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (JDBCException e) {
+            throw new IllegalStateException("Catalog seed failed after " + executed[0] + " statements", e);
+        }
+        return executed[0];
+    }
+
+    /** Executes the statements from in, counting them in executed[0]. */
+    private static void run(BufferedReader in, Connection connection, long[] executed) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            StringBuilder sql = new StringBuilder();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String trimmed = line.strip();
+                if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                    continue;
+                }
+                sql.append(trimmed).append('\n');
+                if (trimmed.endsWith(";")) {
+                    sql.setLength(sql.lastIndexOf(";"));
+                    statement.execute(sql.toString());
+                    sql.setLength(0);
+                    if (++executed[0] % STATEMENTS_PER_COMMIT == 0) {
+                        connection.commit();
+                    }
+                }
+            }
+            connection.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.home.backend.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+
+/**
+ * Counter that moves on every committed change to movies, directors or actors.
+ * Anything derived from the catalog can be cached under the version it was
+ * built from and is stale as soon as {@link #current()} differs.
+ */
+@ApplicationScoped
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * For writes that bypass the services' change events, such as the JDBC seed loader.
+     */
+    public void bump() {
+        version.incrementAndGet();
+    }
+
+    void onEntityChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) EntityChangedEvent event) {
+        bump();
+    }
+}
@@ -0,0 +1,9 @@
+package com.home.backend.service;
+
+/**
+ * An actor who appeared in a movie with another one.
+ * @param actor The co-star
+ * @param sharedMovies Number of movies both appear in
+ */
+public record CostarView(PersonView actor, int sharedMovies) {
+}
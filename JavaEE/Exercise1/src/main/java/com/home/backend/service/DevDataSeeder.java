@@ -0,0 +1,32 @@
+package com.home.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.inject.Inject;
+
+/**
+ * Seeds default directors and actors once at deployment (development only),
+ * instead of checking for an empty database on every page view, then loads
+ * the optional load-test catalog.
+ */
+@Singleton
+@Startup
+public class DevDataSeeder {
+
+    @Inject
+    private DirectorService directorService;
+
+    @Inject
+    private ActorService actorService;
+
+    @Inject
+    private CatalogSeedLoader catalogSeedLoader;
+
+    @PostConstruct
+    public void seed() {
+        directorService.ensureDevSeed();
+        actorService.ensureDevSeed();
+        catalogSeedLoader.loadConfigured();
+    }
+}
@@ -1,6 +1,7 @@
 package com.home.backend.service;
 
 import java.util.List;
+import java.util.Map;
 
 import com.home.backend.model.Director;
 
@@ -11,8 +12,12 @@ import jakarta.ejb.Stateless;
  * Extends BaseService for common CRUD operations.
  */
 @Stateless
+@Timed
 public class DirectorService extends BaseService<Director> {
 
+    private static final String PERSON_VIEW =
+        "SELECT NEW com.home.backend.service.PersonView(d.id, d.firstName, d.lastName, d.birthDate) ";
+
     @Override
     protected Class<Director> getEntityClass() {
         return Director.class;
@@ -24,10 +29,10 @@ public class DirectorService extends BaseService<Director> {
      */
     @Override
     public List<Director> findAll() {
-        return entityManager.createQuery(
+        return slowQueries.list(entityManager.createQuery(
             "SELECT d FROM Director d ORDER BY d.lastName, d.firstName",
             Director.class
-        ).getResultList();
+        ));
     }
 
     /**
@@ -39,6 +44,63 @@ public class DirectorService extends BaseService<Director> {
         return super.findById(id).orElse(null);
     }
 
+    /**
+     * Lists all directors as read models, ordered by last name then first name.
+     * @return Director read models
+     */
+    public List<PersonView> findAllViews() {
+        return slowQueries.list(entityManager.createQuery(
+            PERSON_VIEW + "FROM Director d ORDER BY d.lastName, d.firstName",
+            PersonView.class
+        ));
+    }
+
+    /**
+     * Finds a director by ID as a read model.
+     * @param id Director ID
+     * @return Read model or null if not found
+     */
+    public PersonView findViewById(Long id) {
+        List<PersonView> found = slowQueries.list(entityManager.createQuery(
+            PERSON_VIEW + "FROM Director d WHERE d.id = :id",
+            PersonView.class
+        ).setParameter("id", id));
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    /**
+     * Reads a director's {@code @Version} without loading the director.
+     * @param id Director ID
+     * @return Version or null if not found
+     */
+    public Long findVersion(Long id) {
+        List<Long> found = slowQueries.list(entityManager.createQuery(
+            "SELECT d.version FROM Director d WHERE d.id = :id",
+            Long.class
+        ).setParameter("id", id));
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    /**
+     * Lists all directors with only the selected fields, ordered by last name then first name.
+     * @param fields Fields of {@link PersonView#FIELDS} to load
+     * @return One field map per director
+     */
+    public List<Map<String, Object>> findAllFields(FieldSelection fields) {
+        return findFields(fields, "ORDER BY e.lastName, e.firstName", Map.of());
+    }
+
+    /**
+     * Finds a director by ID with only the selected fields.
+     * @param id Director ID
+     * @param fields Fields of {@link PersonView#FIELDS} to load
+     * @return Field map or null if not found
+     */
+    public Map<String, Object> findFieldsById(Long id, FieldSelection fields) {
+        List<Map<String, Object>> found = findFields(fields, "WHERE e.id = :id", Map.of("id", id));
+        return found.isEmpty() ? null : found.get(0);
+    }
+
     /**
      * Seeds the database with default directors if empty (development only).
      */
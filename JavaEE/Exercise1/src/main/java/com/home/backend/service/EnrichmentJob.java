@@ -0,0 +1,76 @@
+package com.home.backend.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of one bulk OMDb enrichment run. Counters are updated by the
+ * worker threads and read by the REST resource without locking.
+ */
+public class EnrichmentJob {
+
+    public enum Status { RUNNING, COMPLETED, CANCELLED, FAILED }
+
+    private final String id;
+    private final List<String> items;
+    private final Instant startedAt = Instant.now();
+    private volatile Instant finishedAt;
+    private volatile Status status = Status.RUNNING;
+    private volatile String error;
+
+    private final AtomicInteger fetched = new AtomicInteger();
+    private final AtomicInteger notFound = new AtomicInteger();
+    private final AtomicInteger fetchFailed = new AtomicInteger();
+    private final AtomicInteger upserted = new AtomicInteger();
+    private final AtomicInteger writeFailed = new AtomicInteger();
+
+    EnrichmentJob(String id, List<String> items) {
+        this.id = id;
+        this.items = List.copyOf(items);
+    }
+
+    public String getId() { return id; }
+    public int getTotal() { return items.size(); }
+    public Instant getStartedAt() { return startedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public Status getStatus() { return status; }
+    public String getError() { return error; }
+    public int getFetched() { return fetched.get(); }
+    public int getNotFound() { return notFound.get(); }
+    public int getFetchFailed() { return fetchFailed.get(); }
+    public int getUpserted() { return upserted.get(); }
+    public int getWriteFailed() { return writeFailed.get(); }
+
+    /**
+     * @return Titles or IDs still waiting for a response from OMDb
+     */
+    public int getPending() {
+        return items.size() - fetched.get() - notFound.get() - fetchFailed.get();
+    }
+
+    public boolean isDone() {
+        return status != Status.RUNNING;
+    }
+
+    List<String> items() { return items; }
+    void fetched() { fetched.incrementAndGet(); }
+    void notFound() { notFound.incrementAndGet(); }
+    void fetchFailed() { fetchFailed.incrementAndGet(); }
+    void upserted(int n) { upserted.addAndGet(n); }
+    void writeFailed(int n) { writeFailed.addAndGet(n); }
+
+    void cancel() {
+        if (status == Status.RUNNING) status = Status.CANCELLED;
+    }
+
+    void finish(String failure) {
+        if (failure != null) {
+            error = failure;
+            status = Status.FAILED;
+        } else if (status == Status.RUNNING) {
+            status = Status.COMPLETED;
+        }
+        finishedAt = Instant.now();
+    }
+}
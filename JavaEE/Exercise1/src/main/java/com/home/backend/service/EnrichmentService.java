@@ -0,0 +1,218 @@
+package com.home.backend.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.json.JsonObject;
+
+/**
+ * Runs bulk OMDb enrichment jobs in the background.
+ * <p>
+ * Each job has a pool of fetch workers, limited by enrichment.concurrency and
+ * a shared client-side rate limit (omdb.rate-per-second). They hand successful
+ * responses to a single writer through a bounded queue. The writer upserts
+ * them in transactions of enrichment.batch-size rows. Fetch workers never hold
+ * a transaction or a connection, so a slow OMDb does not pin database
+ * resources, and a slow database only pushes back on fetching through the
+ * queue.
+ * <p>
+ * Fetchers and writer run on {@link VirtualThreads}. Without virtual threads they
+ * share the container's pool with every other subsystem, so the writer is started
+ * first and at most enrichment.pool-workers (default 2) fetchers run per job.
+ */
+@ApplicationScoped
+@Timed
+public class EnrichmentService {
+
+    private static final Logger LOG = Logger.getLogger(EnrichmentService.class.getName());
+    private static final int MAX_RETAINED_JOBS = 100;
+
+    @Inject
+    private VirtualThreads threads;
+
+    @Inject
+    private OmdbService omdbService;
+
+    @Inject
+    private MovieUpsertService upsertService;
+
+    private final Map<String, EnrichmentJob> jobs = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedDeque<String> jobOrder = new ConcurrentLinkedDeque<>();
+
+    private RateLimiter rateLimiter;
+    private int concurrency;
+    private int poolWorkers;
+    private int batchSize;
+
+    @PostConstruct
+    void init() {
+        rateLimiter = new RateLimiter(
+            Settings.getLong("omdb.rate-per-second", 10),
+            Settings.getInt("omdb.rate-burst", 10));
+        concurrency = Settings.getInt("enrichment.concurrency", 8);
+        poolWorkers = Settings.getInt("enrichment.pool-workers", 2);
+        batchSize = Settings.getInt("enrichment.batch-size", 100);
+    }
+
+    /**
+     * Starts enriching the given titles or IMDb IDs and returns immediately.
+     * @param items Titles and/or IMDb IDs, in any mix
+     * @param apiKey OMDb API key
+     * @return The running job, for progress polling
+     */
+    public EnrichmentJob submit(List<String> items, String apiKey) {
+        EnrichmentJob job = new EnrichmentJob(UUID.randomUUID().toString(), items);
+        register(job);
+
+        ConcurrentLinkedQueue<String> todo = new ConcurrentLinkedQueue<>(job.items());
+        BlockingQueue<JsonObject> fetched = new ArrayBlockingQueue<>(batchSize * 4);
+        int workers = Math.min(concurrency, job.getTotal());
+        if (!threads.isVirtual()) {
+            workers = Math.min(workers, poolWorkers);
+        }
+        workers = Math.max(1, workers);
+        CountDownLatch fetchersDone = new CountDownLatch(workers);
+
+        // Writer first: on a pool it must not queue behind fetchers waiting for it
+        Executor executor = threads.executor();
+        executor.execute(() -> writeLoop(job, fetched, fetchersDone));
+        for (int i = 0; i < workers; i++) {
+            executor.execute(() -> fetchLoop(job, todo, fetched, apiKey, fetchersDone));
+        }
+        return job;
+    }
+
+    public EnrichmentJob find(String id) {
+        return jobs.get(id);
+    }
+
+    /**
+     * @return Retained jobs, oldest first
+     */
+    public List<EnrichmentJob> list() {
+        List<EnrichmentJob> result = new ArrayList<>();
+        for (String id : jobOrder) {
+            EnrichmentJob job = jobs.get(id);
+            if (job != null) result.add(job);
+        }
+        return result;
+    }
+
+    /**
+     * Stops fetching for a job; rows already fetched are still written.
+     * @return false if no such job exists
+     */
+    public boolean cancel(String id) {
+        EnrichmentJob job = jobs.get(id);
+        if (job == null) return false;
+        job.cancel();
+        return true;
+    }
+
+    private void fetchLoop(EnrichmentJob job, ConcurrentLinkedQueue<String> todo,
+                           BlockingQueue<JsonObject> fetched, String apiKey, CountDownLatch done) {
+        try {
+            String item;
+            while (!job.isDone() && (item = todo.poll()) != null) {
+                rateLimiter.acquire();
+                JsonObject data;
+                try {
+                    data = omdbService.fetchByTitleOrImdbId(item, apiKey);
+                } catch (RuntimeException e) {
+                    job.fetchFailed();
+                    continue;
+                }
+                if (!OmdbService.isFound(data)) {
+                    if ("Movie not found!".equals(data.getString("Error", ""))) job.notFound();
+                    else job.fetchFailed();
+                    continue;
+                }
+                job.fetched();
+                // Back-pressure from a slow writer; a cancelled or failed job drops the row in hand
+                while (!fetched.offer(data, 1, TimeUnit.SECONDS)) {
+                    if (job.isDone()) return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            done.countDown();
+        }
+    }
+
+    private void writeLoop(EnrichmentJob job, BlockingQueue<JsonObject> fetched, CountDownLatch fetchersDone) {
+        List<JsonObject> batch = new ArrayList<>(batchSize);
+        try {
+            while (true) {
+                JsonObject next = fetched.poll(200, TimeUnit.MILLISECONDS);
+                if (next != null) {
+                    batch.add(next);
+                    fetched.drainTo(batch, batchSize - batch.size());
+                }
+                boolean drained = fetchersDone.getCount() == 0 && fetched.isEmpty();
+                // Write full batches, and partial ones whenever fetching stalls or ends
+                if (batch.size() >= batchSize || (!batch.isEmpty() && (next == null || drained))) {
+                    write(job, batch);
+                    batch.clear();
+                }
+                if (drained && batch.isEmpty()) break;
+            }
+            job.finish(null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish("Interrupted");
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Enrichment job " + job.getId() + " failed", e);
+            job.finish(e.getMessage());
+        }
+    }
+
+    private void write(EnrichmentJob job, List<JsonObject> batch) {
+        try {
+            job.upserted(upsertService.upsertOmdb(batch));
+        } catch (RuntimeException batchFailure) {
+            // One bad row rolls back the whole batch; retry row by row to isolate it
+            for (JsonObject row : batch) {
+                try {
+                    job.upserted(upsertService.upsertOmdb(List.of(row)));
+                } catch (RuntimeException e) {
+                    job.writeFailed(1);
+                    LOG.log(Level.FINE, "Skipping " + row.getString("imdbID", "?"), e);
+                }
+            }
+        }
+    }
+
+    private void register(EnrichmentJob job) {
+        jobs.put(job.getId(), job);
+        jobOrder.addLast(job.getId());
+        if (jobOrder.size() <= MAX_RETAINED_JOBS) return;
+        // Forget the oldest finished job; running ones are always kept
+        Iterator<String> it = jobOrder.iterator();
+        while (it.hasNext()) {
+            String id = it.next();
+            EnrichmentJob old = jobs.get(id);
+            if (old == null || old.isDone()) {
+                it.remove();
+                jobs.remove(id);
+                return;
+            }
+        }
+    }
+}
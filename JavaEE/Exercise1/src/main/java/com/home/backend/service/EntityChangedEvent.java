@@ -0,0 +1,26 @@
+package com.home.backend.service;
+
+/**
+ * CDI event fired by the services whenever an entity is created, updated or deleted.
+ * Observers interested only in committed data should use
+ * {@code @Observes(during = TransactionPhase.AFTER_SUCCESS)}.
+ * @param entityType Class of the changed entity
+ * @param entity The changed entity; detached by the time after-commit observers see it
+ * @param kind What happened to it
+ */
+public record EntityChangedEvent(Class<?> entityType, Object entity, Kind kind) {
+
+    public enum Kind { CREATED, UPDATED, DELETED }
+
+    public static EntityChangedEvent created(Object entity) {
+        return new EntityChangedEvent(entity.getClass(), entity, Kind.CREATED);
+    }
+
+    public static EntityChangedEvent updated(Object entity) {
+        return new EntityChangedEvent(entity.getClass(), entity, Kind.UPDATED);
+    }
+
+    public static EntityChangedEvent deleted(Object entity) {
+        return new EntityChangedEvent(entity.getClass(), entity, Kind.DELETED);
+    }
+}
@@ -0,0 +1,78 @@
+package com.home.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fields a client asked for with {@code ?fields=id,title,year}. Services put
+ * only these in the SELECT list, so fewer columns are read and written as JSON.
+ * The id is always included, and fields come back in the read model's order
+ * whatever order they were requested in.
+ */
+public final class FieldSelection {
+
+    private final List<String> names;
+
+    private FieldSelection(List<String> names) {
+        this.names = names;
+    }
+
+    /**
+     * Parses a comma-separated field list.
+     * @param fields Value of the fields parameter; null or blank means every field
+     * @param available Fields of the read model, id first
+     * @return The selection, or null for every field
+     * @throws IllegalArgumentException For a field the read model does not have
+     */
+    public static FieldSelection parse(String fields, List<String> available) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> requested = new HashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) continue;
+            if (!available.contains(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "'. Available: " + String.join(",", available));
+            }
+            requested.add(name);
+        }
+        List<String> names = new ArrayList<>(requested.size() + 1);
+        for (String name : available) {
+            if (name.equals("id") || requested.contains(name)) names.add(name);
+        }
+        return new FieldSelection(List.copyOf(names));
+    }
+
+    public List<String> names() {
+        return names;
+    }
+
+    public boolean includes(String name) {
+        return names.contains(name);
+    }
+
+    /**
+     * @param alias Alias of the entity in the query
+     * @return Select list of the fields, e.g. {@code a.id, a.lastName}; field names must be entity attributes
+     */
+    String selectList(String alias) {
+        return alias + "." + String.join(", " + alias + ".", names);
+    }
+
+    /**
+     * @param row Values in the order of {@link #selectList}
+     * @return Field name to value, ready for JSON
+     */
+    Map<String, Object> toMap(Object[] row) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            fields.put(names.get(i), row[i]);
+        }
+        return fields;
+    }
+}
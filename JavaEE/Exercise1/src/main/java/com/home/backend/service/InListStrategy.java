@@ -0,0 +1,68 @@
+package com.home.backend.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Function;
+
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Decides how a lookup by a list of ids reaches the database.
+ * <ul>
+ *   <li>Up to {@code in-list.chunk-size} ids (default 1024): one {@code IN} list. Hibernate pads it
+ *   to the next power of two ({@code hibernate.query.in_clause_parameter_padding}), so there are
+ *   only a handful of statement shapes to cache and plan.</li>
+ *   <li>Up to {@code in-list.array-threshold} ids (default 8192), or on databases without array
+ *   binding: several full-size {@code IN} lists, merged in memory.</li>
+ *   <li>Above that, on H2: all ids bound as one array parameter and joined as a table, one
+ *   statement whatever the count.</li>
+ * </ul>
+ */
+@ApplicationScoped
+public class InListStrategy {
+
+    // A power of two, so full chunks land exactly on a padding bucket
+    private final int chunkSize = Integer.highestOneBit(Math.max(1, Settings.getInt("in-list.chunk-size", 1024)));
+    private final int arrayThreshold = Settings.getInt("in-list.array-threshold", 8192);
+
+    /**
+     * Runs the lookup for the distinct ids.
+     * @param entityManager Used to tell whether the database can join an array parameter
+     * @param ids Ids to look up; duplicates are dropped
+     * @param inQuery Runs the lookup with {@code WHERE id IN :ids}
+     * @param arrayQuery Runs the lookup joined to a {@code Long[]} parameter, or null if the caller has none
+     * @param order Order of the result, applied when partial results are merged
+     * @return Rows found
+     */
+    public <R> List<R> find(EntityManager entityManager, Collection<Long> ids,
+                            Function<List<Long>, List<R>> inQuery,
+                            Function<Long[], List<R>> arrayQuery,
+                            Comparator<? super R> order) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinct.size() <= chunkSize) {
+            return inQuery.apply(distinct);
+        }
+        if (arrayQuery != null && distinct.size() > arrayThreshold && supportsArrayJoin(entityManager)) {
+            return arrayQuery.apply(distinct.toArray(new Long[0]));
+        }
+        List<R> merged = new ArrayList<>(distinct.size());
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            merged.addAll(inQuery.apply(distinct.subList(from, Math.min(from + chunkSize, distinct.size()))));
+        }
+        merged.sort(order);
+        return merged;
+    }
+
+    /** H2 can read an array parameter as a table: {@code TABLE(id BIGINT = ?)}. */
+    private static boolean supportsArrayJoin(EntityManager entityManager) {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+            .getJdbcServices().getDialect() instanceof H2Dialect;
+    }
+}
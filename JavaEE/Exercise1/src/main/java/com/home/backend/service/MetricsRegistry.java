@@ -0,0 +1,131 @@
+package com.home.backend.service;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Latency histograms per REST endpoint and per service method, rendered in
+ * the Prometheus text exposition format (version 0.0.4) by {@link #scrape()}.
+ * Lookups of existing series are lock-free reads; recording goes to LongAdders.
+ */
+@ApplicationScoped
+public class MetricsRegistry {
+
+    static final String HTTP_REQUESTS = "http_server_requests_seconds";
+    static final String HTTP_ERRORS = "http_server_errors_total";
+    static final String SERVICE_CALLS = "service_method_seconds";
+    static final String SERVICE_ERRORS = "service_method_errors_total";
+
+    // le label values, e.g. 0.0005 rather than 5.0E-4
+    private static final String[] LE = new String[LatencyHistogram.BOUNDS_SECONDS.length + 1];
+
+    static {
+        for (int i = 0; i < LatencyHistogram.BOUNDS_SECONDS.length; i++) {
+            LE[i] = BigDecimal.valueOf(LatencyHistogram.BOUNDS_SECONDS[i]).stripTrailingZeros().toPlainString();
+        }
+        LE[LE.length - 1] = "+Inf";
+    }
+
+    private final Map<String, LatencyHistogram> endpoints = new ConcurrentHashMap<>();
+
+    private final ClassValue<Map<Method, LatencyHistogram>> serviceMethods = new ClassValue<>() {
+        @Override
+        protected Map<Method, LatencyHistogram> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    // Label set -> histogram, for rendering; keyed by label text so proxies of one bean share a series
+    private final Map<String, LatencyHistogram> services = new ConcurrentHashMap<>();
+    // Plain counters registered by other beans, name -> help text and value
+    private final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+
+    /**
+     * Returns the series for one endpoint; callers should keep the result
+     * rather than call this per request.
+     * @param method HTTP method
+     * @param path Resource path template, e.g. {@code /movies/{id}}
+     * @return Histogram for the endpoint
+     */
+    public LatencyHistogram endpoint(String method, String path) {
+        return endpoints.computeIfAbsent("method=\"" + method + "\",path=\"" + escape(path) + "\"",
+            k -> new LatencyHistogram());
+    }
+
+    /**
+     * Returns a monotonically increasing counter, registering it on first use.
+     * @param name Metric name, ending in _total
+     * @param help One-line description
+     * @return The counter's adder
+     */
+    public LongAdder counter(String name, String help) {
+        return counters.computeIfAbsent(name, k -> new Counter(help, new LongAdder())).value();
+    }
+
+    LatencyHistogram serviceMethod(Class<?> beanClass, Method method) {
+        Map<Method, LatencyHistogram> byMethod = serviceMethods.get(beanClass);
+        LatencyHistogram histogram = byMethod.get(method);
+        if (histogram == null) {
+            String labels = "class=\"" + beanName(beanClass) + "\",method=\"" + method.getName() + "\"";
+            histogram = byMethod.computeIfAbsent(method,
+                m -> services.computeIfAbsent(labels, k -> new LatencyHistogram()));
+        }
+        return histogram;
+    }
+
+    /**
+     * @return All series in Prometheus text format
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        writeHistograms(out, HTTP_REQUESTS, "Latency of REST requests by method and path template.", endpoints);
+        writeErrors(out, HTTP_ERRORS, "REST requests answered with a 5xx status.", endpoints);
+        writeHistograms(out, SERVICE_CALLS, "Latency of service bean methods.", services);
+        writeErrors(out, SERVICE_ERRORS, "Service bean calls that threw an exception.", services);
+        counters.forEach((name, counter) -> out
+            .append("# HELP ").append(name).append(' ').append(counter.help()).append('\n')
+            .append("# TYPE ").append(name).append(" counter\n")
+            .append(name).append(' ').append(counter.value().sum()).append('\n'));
+        return out.toString();
+    }
+
+    private static void writeHistograms(StringBuilder out, String name, String help, Map<String, LatencyHistogram> series) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" histogram\n");
+        series.forEach((labels, histogram) -> {
+            long[] counts = histogram.cumulativeCounts();
+            for (int i = 0; i < counts.length; i++) {
+                out.append(name).append("_bucket{").append(labels).append(",le=\"").append(LE[i]).append("\"} ")
+                    .append(counts[i]).append('\n');
+            }
+            out.append(name).append("_sum{").append(labels).append("} ").append(histogram.sumSeconds()).append('\n');
+            out.append(name).append("_count{").append(labels).append("} ").append(counts[counts.length - 1]).append('\n');
+        });
+    }
+
+    private static void writeErrors(StringBuilder out, String name, String help, Map<String, LatencyHistogram> series) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" counter\n");
+        series.forEach((labels, histogram) ->
+            out.append(name).append('{').append(labels).append("} ").append(histogram.errors()).append('\n'));
+    }
+
+    /** Strips container proxy suffixes such as {@code $Proxy$_$$_WeldSubclass}. */
+    private static String beanName(Class<?> type) {
+        String name = type.getSimpleName();
+        int proxy = name.indexOf('$');
+        return proxy > 0 ? name.substring(0, proxy) : name;
+    }
+
+    private record Counter(String help, LongAdder value) {
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
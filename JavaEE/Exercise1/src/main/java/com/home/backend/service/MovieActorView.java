@@ -0,0 +1,13 @@
+package com.home.backend.service;
+
+import java.time.LocalDate;
+
+/**
+ * One MOVIE_ACTORS link with the actor's columns, used to attach casts to {@link MovieView}s.
+ */
+public record MovieActorView(Long movieId, Long id, String firstName, String lastName, LocalDate birthDate) {
+
+    public PersonView actor() {
+        return new PersonView(id, firstName, lastName, birthDate);
+    }
+}
@@ -0,0 +1,113 @@
+package com.home.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.Session;
+
+import com.home.backend.model.Actor;
+import com.home.backend.model.Director;
+import com.home.backend.model.Movie;
+
+import jakarta.ejb.Stateless;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Inserts movies in bulk, one transaction and one JDBC batch per call.
+ */
+@Stateless
+@Timed
+public class MovieBulkService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Inject
+    private Event<EntityChangedEvent> changes;
+
+    /**
+     * Result of inserting one batch.
+     * @param inserted Number of movies persisted
+     * @param errors One message per rejected row
+     */
+    public record Outcome(int inserted, List<String> errors) {
+    }
+
+    /**
+     * Inserts a batch of movies. Directors and actors are looked up with one
+     * query each for the whole batch; rows that reference unknown ids are
+     * rejected rather than failing the batch. The persistence context is
+     * flushed as JDBC batches of the given size and then cleared.
+     * @param rows Parsed import rows
+     * @param jdbcBatchSize Statements per JDBC batch
+     * @return Inserted count and per-row errors
+     */
+    public Outcome insertBatch(List<MovieImportRow> rows, int jdbcBatchSize) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+
+        Set<Long> directorIds = new HashSet<>();
+        Set<Long> actorIds = new HashSet<>();
+        for (MovieImportRow row : rows) {
+            directorIds.add(row.directorId());
+            actorIds.addAll(row.actorIds());
+        }
+        Map<Long, Director> directors = byId(Director.class, directorIds);
+        Map<Long, Actor> actors = byId(Actor.class, actorIds);
+
+        int inserted = 0;
+        List<String> errors = new ArrayList<>();
+        for (MovieImportRow row : rows) {
+            Director director = directors.get(row.directorId());
+            if (director == null) {
+                errors.add("line " + row.line() + ": unknown director id " + row.directorId());
+                continue;
+            }
+            Set<Actor> cast = new LinkedHashSet<>();
+            Long missingActor = null;
+            for (Long id : row.actorIds()) {
+                Actor actor = actors.get(id);
+                if (actor == null) {
+                    missingActor = id;
+                    break;
+                }
+                cast.add(actor);
+            }
+            if (missingActor != null) {
+                errors.add("line " + row.line() + ": unknown actor id " + missingActor);
+                continue;
+            }
+
+            Movie movie = row.movie();
+            movie.setDirector(director);
+            movie.setActors(cast);
+            entityManager.persist(movie);
+            changes.fire(EntityChangedEvent.created(movie));
+            inserted++;
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return new Outcome(inserted, errors);
+    }
+
+    private <T> Map<Long, T> byId(Class<T> type, Set<Long> ids) {
+        Map<Long, T> result = new HashMap<>();
+        if (ids.isEmpty()) return result;
+        List<T> found = entityManager.createQuery(
+            "SELECT e FROM " + type.getSimpleName() + " e WHERE e.id IN :ids", type)
+            .setParameter("ids", ids)
+            .getResultList();
+        for (T entity : found) {
+            result.put((Long) entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity), entity);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,16 @@
+package com.home.backend.service;
+
+import java.util.List;
+
+/**
+ * Data of one movie event of the change feed, taken from the committed entity.
+ * Carries the scalar columns only; clients that need the whole movie fetch it by id.
+ * @param id Movie id
+ * @param title Title
+ * @param year Release year
+ * @param genre Genre
+ * @param directorId Director id
+ * @param actorIds Cast, or null when the change did not touch it
+ */
+public record MovieChange(Long id, String title, Integer year, String genre, Long directorId, List<Long> actorIds) {
+}
@@ -0,0 +1,152 @@
+package com.home.backend.service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.hibernate.Hibernate;
+
+import com.home.backend.model.Actor;
+import com.home.backend.model.Movie;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+
+/**
+ * Bounded in-memory log of committed movie changes, the source of the movie
+ * change feed. Entries are numbered from 1 and kept in a ring of
+ * {@code changefeed.capacity} slots, so a reader that remembers the last number
+ * it saw can continue from there for as long as the entries are retained.
+ * <p>
+ * Appending happens on the committing thread and only fills a slot and runs the
+ * listeners, which must not block; delivery to subscribers is their business.
+ */
+@ApplicationScoped
+public class MovieChangeLog {
+
+    private static final Logger LOG = Logger.getLogger(MovieChangeLog.class.getName());
+
+    /** Event name of an entry that tells readers to re-read the catalog instead of applying changes. */
+    public static final String RESET = "reset";
+
+    // Event ids are "<epoch>-<number>"; the epoch tells ids of an earlier run apart
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Entry[] ring = new Entry[Math.max(1, Settings.getInt("changefeed.capacity", 1024))];
+    private long last;  // guarded by ring
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    void onMovieChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) EntityChangedEvent event) {
+        if (event.entityType() != Movie.class) {
+            return;
+        }
+        Movie m = (Movie) event.entity();
+        List<Long> cast = null;
+        if (m.getActors() != null && Hibernate.isInitialized(m.getActors())) {
+            cast = m.getActors().stream().map(Actor::getId).sorted().toList();
+        }
+        // The director is a proxy on most paths; reading its id does not load it
+        Long directorId = m.getDirector() == null ? null : m.getDirector().getId();
+        append(event.kind().name().toLowerCase(Locale.ROOT),
+            new MovieChange(m.getId(), m.getTitle(), m.getYear(), m.getGenre(), directorId, cast));
+    }
+
+    /**
+     * Records that the catalog changed without change events, such as a seed file
+     * load; readers at or before this entry have to re-read the catalog.
+     * @param reason Why, passed on to the readers
+     */
+    public void reset(String reason) {
+        append(RESET, Map.of("reason", reason));
+    }
+
+    private void append(String name, Object data) {
+        synchronized (ring) {
+            last++;
+            ring[slot(last)] = new Entry(last, idOf(last), name, data);
+        }
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Movie change listener failed", e);
+            }
+        }
+    }
+
+    /**
+     * Entry after the given number. If that one is no longer retained, returns
+     * a reset entry numbered as the newest one, so the reader skips the gap.
+     * @param after Number of the last entry the reader has, 0 for none, -1 if unknown
+     * @return The next entry, or null if the reader is up to date
+     */
+    public Entry next(long after) {
+        synchronized (ring) {
+            if (after >= last) {
+                return null;
+            }
+            if (after < Math.max(0, last - ring.length)) {
+                return new Entry(last, idOf(last), RESET, Map.of("reason", "gap"));
+            }
+            return ring[slot(after + 1)];
+        }
+    }
+
+    /**
+     * @return Number of the newest entry, 0 if there is none yet
+     */
+    public long last() {
+        synchronized (ring) {
+            return last;
+        }
+    }
+
+    /**
+     * Where a reader that last saw the given event id continues.
+     * @param lastEventId Id of an entry, as sent to the reader
+     * @return The entry's number, or -1 if the id is not from this log or newer than it
+     */
+    public long resumePoint(String lastEventId) {
+        int dash = lastEventId.indexOf('-');
+        if (dash < 0 || !epoch.equals(lastEventId.substring(0, dash))) {
+            return -1;
+        }
+        try {
+            long number = Long.parseLong(lastEventId.substring(dash + 1));
+            return number >= 0 && number <= last() ? number : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @param listener Run after every append on the appending thread; must return quickly
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    private String idOf(long number) {
+        return epoch + "-" + number;
+    }
+
+    private int slot(long number) {
+        return (int) (number % ring.length);
+    }
+
+    /**
+     * @param number Position in this log
+     * @param id Event id, unique across restarts
+     * @param name Event name: created, updated or {@link #RESET}
+     * @param data A {@link MovieChange}, or the reason of a reset
+     */
+    public record Entry(long number, String id, String name, Object data) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.home.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in the (title, year, id) ordering of movies.
+ * Encoded as an opaque URL-safe token so clients never build it themselves.
+ */
+public record MovieCursor(String title, int year, long id) {
+
+    public static MovieCursor of(MovieView movie) {
+        return new MovieCursor(movie.title(), movie.year(), movie.id());
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     * @param token Cursor token from a previous page
+     * @return The decoded cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static MovieCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // Title goes last since it is the only part that may contain the separator
+            String[] parts = raw.split(":", 3);
+            return new MovieCursor(parts[2], Integer.parseInt(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    public String encode() {
+        String raw = year + ":" + id + ":" + title;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
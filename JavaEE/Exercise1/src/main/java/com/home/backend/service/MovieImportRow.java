@@ -0,0 +1,15 @@
+package com.home.backend.service;
+
+import java.util.List;
+
+import com.home.backend.model.Movie;
+
+/**
+ * One parsed line of a bulk movie import.
+ * @param line 1-based line number in the upload, for error reporting
+ * @param movie Movie fields; director and actors are resolved from the ids
+ * @param directorId Id of an existing director
+ * @param actorIds Ids of existing actors, possibly empty
+ */
+public record MovieImportRow(int line, Movie movie, Long directorId, List<Long> actorIds) {
+}
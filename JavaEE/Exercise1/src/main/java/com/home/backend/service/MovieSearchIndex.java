@@ -0,0 +1,353 @@
+package com.home.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.home.backend.model.Movie;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+
+/**
+ * In-memory inverted index over movie title, genre and plot.
+ * <p>
+ * Built from the database at startup and kept current by observing committed
+ * movie changes. Each term maps to a postings list of two parallel int arrays
+ * (document number, field-weighted term frequency), sorted by document, so a
+ * query is a k-way merge over a few arrays feeding a fixed-size top-K heap:
+ * no objects are allocated per matching document. Updates append a new
+ * document and tombstone the old one. Once tombstones make up a quarter of the
+ * documents, the index is compacted in place, without going to the database.
+ */
+@ApplicationScoped
+@Timed
+public class MovieSearchIndex {
+
+    private static final Logger LOG = Logger.getLogger(MovieSearchIndex.class.getName());
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int GENRE_WEIGHT = 2;
+    private static final int PLOT_WEIGHT = 1;
+    /** BM25 term-frequency saturation. */
+    private static final float K1 = 1.2f;
+    /** Share of tombstoned documents that triggers a compaction. */
+    private static final float MAX_DELETED_FRACTION = 0.25f;
+    /** Fewer tombstones than this are never worth a compaction. */
+    private static final int MIN_DELETED_TO_COMPACT = 64;
+
+    @Inject
+    private MovieService movieService;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildMonitor = new Object();
+    // Both guarded by lock
+    private Segment segment = new Segment();
+    private List<Change> changesDuringRebuild;
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object ignored) {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // Database not ready: search stays empty until the next rebuild or inserts
+            LOG.log(Level.WARNING, "Could not build movie search index at startup", e);
+        }
+    }
+
+    /**
+     * Re-reads all movies and atomically replaces the index. Searches keep
+     * using the old index meanwhile; changes committed during the rebuild are
+     * replayed onto the new one before it is swapped in.
+     */
+    public void rebuild() {
+        synchronized (rebuildMonitor) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Segment fresh = new Segment();
+            try {
+                movieService.forEachMovieText(fresh::add);
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    for (Change c : changesDuringRebuild) c.applyTo(fresh);
+                    segment = fresh;
+                    changesDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            LOG.info("Movie search index built with " + fresh.live + " movies and " + fresh.postings.size() + " terms");
+        }
+    }
+
+    void onMovieChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) EntityChangedEvent event) {
+        if (event.entityType() != Movie.class) return;
+        Movie m = (Movie) event.entity();
+        Change change = event.kind() == EntityChangedEvent.Kind.DELETED
+            ? new Change(m.getId(), null)
+            : new Change(m.getId(), new MovieText(m.getId(), m.getTitle(), m.getYear(), m.getGenre(), m.getPlotOneLine()));
+        lock.writeLock().lock();
+        try {
+            change.applyTo(segment);
+            if (changesDuringRebuild != null) changesDuringRebuild.add(change);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the best matching movies for a free-text query. A movie matches
+     * if it contains any query term; more terms, rarer terms and matches in
+     * the title rank higher.
+     * @param query Free text
+     * @param limit Maximum number of hits
+     * @return Hits ordered by descending score
+     */
+    public List<SearchHit> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(Tokenizer.tokens(query)));
+        if (terms.isEmpty() || limit <= 0) return List.of();
+        lock.readLock().lock();
+        try {
+            return segment.search(terms, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Number of searchable movies
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** An add/replace (text != null) or a removal (text == null). */
+    private record Change(Long movieId, MovieText text) {
+        void applyTo(Segment s) {
+            if (text == null) s.remove(movieId);
+            else s.add(text);
+        }
+    }
+
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] weights = new int[4];
+        int size;
+        // Documents not tombstoned; the document frequency for idf
+        int live;
+
+        void add(int doc, int weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+    }
+
+    /** Append-only set of documents with tombstones; not thread-safe on its own. */
+    private static final class Segment {
+        final Map<String, Postings> postings = new HashMap<>();
+        final Map<Long, Integer> docByMovie = new HashMap<>();
+        final BitSet deleted = new BitSet();
+        long[] movieIds = new long[1024];
+        String[] titles = new String[1024];
+        int[] years = new int[1024];
+        // Postings each document appears in, to keep their live counts on removal
+        Postings[][] docTerms = new Postings[1024][];
+        int docCount;
+        int live;
+
+        void add(MovieText t) {
+            remove(t.id());
+            if (docCount == movieIds.length) {
+                int n = docCount * 2;
+                movieIds = Arrays.copyOf(movieIds, n);
+                titles = Arrays.copyOf(titles, n);
+                years = Arrays.copyOf(years, n);
+                docTerms = Arrays.copyOf(docTerms, n);
+            }
+            int doc = docCount++;
+            movieIds[doc] = t.id();
+            titles[doc] = t.title();
+            years[doc] = t.year() == null ? 0 : t.year();
+            docByMovie.put(t.id(), doc);
+            live++;
+
+            Map<String, Integer> weights = new HashMap<>();
+            for (String term : Tokenizer.tokens(t.title())) weights.merge(term, TITLE_WEIGHT, Integer::sum);
+            for (String term : Tokenizer.tokens(t.genre())) weights.merge(term, GENRE_WEIGHT, Integer::sum);
+            for (String term : Tokenizer.tokens(t.plotOneLine())) weights.merge(term, PLOT_WEIGHT, Integer::sum);
+            // Documents are numbered in insertion order, so every postings list stays sorted
+            Postings[] terms = new Postings[weights.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> e : weights.entrySet()) {
+                Postings p = postings.computeIfAbsent(e.getKey(), k -> new Postings());
+                p.add(doc, e.getValue());
+                p.live++;
+                terms[i++] = p;
+            }
+            docTerms[doc] = terms;
+        }
+
+        void remove(Long movieId) {
+            Integer doc = docByMovie.remove(movieId);
+            if (doc == null) return;
+            deleted.set(doc);
+            live--;
+            for (Postings p : docTerms[doc]) p.live--;
+            docTerms[doc] = null;
+            int tombstones = docCount - live;
+            if (tombstones >= MIN_DELETED_TO_COMPACT && tombstones > docCount * MAX_DELETED_FRACTION) {
+                compact();
+            }
+        }
+
+        /** Drops tombstoned documents and renumbers the rest, keeping their order. */
+        void compact() {
+            int[] renumbered = new int[docCount];
+            int n = 0;
+            for (int doc = 0; doc < docCount; doc++) {
+                if (deleted.get(doc)) {
+                    renumbered[doc] = -1;
+                    continue;
+                }
+                renumbered[doc] = n;
+                movieIds[n] = movieIds[doc];
+                titles[n] = titles[doc];
+                years[n] = years[doc];
+                docTerms[n] = docTerms[doc];
+                n++;
+            }
+            Arrays.fill(titles, n, docCount, null);
+            Arrays.fill(docTerms, n, docCount, null);
+
+            for (Iterator<Postings> it = postings.values().iterator(); it.hasNext(); ) {
+                Postings p = it.next();
+                int kept = 0;
+                for (int i = 0; i < p.size; i++) {
+                    int doc = renumbered[p.docs[i]];
+                    if (doc < 0) continue;
+                    p.docs[kept] = doc;
+                    p.weights[kept++] = p.weights[i];
+                }
+                p.size = kept;
+                if (kept == 0) it.remove();
+            }
+            docByMovie.replaceAll((movieId, doc) -> renumbered[doc]);
+            deleted.clear();
+            docCount = n;
+        }
+
+        List<SearchHit> search(List<String> terms, int limit) {
+            int n = 0;
+            Postings[] lists = new Postings[terms.size()];
+            float[] idf = new float[terms.size()];
+            for (String term : terms) {
+                Postings p = postings.get(term);
+                if (p == null || p.live == 0) continue;
+                lists[n] = p;
+                idf[n] = (float) Math.log(1 + (live - p.live + 0.5) / (p.live + 0.5));
+                n++;
+            }
+
+            // Min-heap of the best `limit` documents so far
+            int[] heapDocs = new int[limit];
+            float[] heapScores = new float[limit];
+            int heapSize = 0;
+
+            int[] cursor = new int[n];
+            while (true) {
+                int doc = Integer.MAX_VALUE;
+                for (int i = 0; i < n; i++) {
+                    if (cursor[i] < lists[i].size) doc = Math.min(doc, lists[i].docs[cursor[i]]);
+                }
+                if (doc == Integer.MAX_VALUE) break;
+
+                float score = 0;
+                for (int i = 0; i < n; i++) {
+                    Postings p = lists[i];
+                    if (cursor[i] < p.size && p.docs[cursor[i]] == doc) {
+                        int w = p.weights[cursor[i]++];
+                        score += idf[i] * (w * (K1 + 1)) / (w + K1);
+                    }
+                }
+                if (deleted.get(doc)) continue;
+
+                if (heapSize < limit) {
+                    heapDocs[heapSize] = doc;
+                    heapScores[heapSize] = score;
+                    siftUp(heapDocs, heapScores, heapSize++);
+                } else if (score > heapScores[0]) {
+                    heapDocs[0] = doc;
+                    heapScores[0] = score;
+                    siftDown(heapDocs, heapScores, heapSize);
+                }
+            }
+
+            SearchHit[] hits = new SearchHit[heapSize];
+            // Popping the min-heap yields ascending scores, so fill from the back
+            for (int i = heapSize - 1; i >= 0; i--) {
+                int doc = heapDocs[0];
+                hits[i] = new SearchHit(movieIds[doc], titles[doc], years[doc], heapScores[0]);
+                heapDocs[0] = heapDocs[i];
+                heapScores[0] = heapScores[i];
+                siftDown(heapDocs, heapScores, i);
+            }
+            return Arrays.asList(hits);
+        }
+
+        private static void siftUp(int[] docs, float[] scores, int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (scores[parent] <= scores[i]) return;
+                swap(docs, scores, i, parent);
+                i = parent;
+            }
+        }
+
+        private static void siftDown(int[] docs, float[] scores, int size) {
+            int i = 0;
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) return;
+                int smallest = left + 1 < size && scores[left + 1] < scores[left] ? left + 1 : left;
+                if (scores[i] <= scores[smallest]) return;
+                swap(docs, scores, i, smallest);
+                i = smallest;
+            }
+        }
+
+        private static void swap(int[] docs, float[] scores, int a, int b) {
+            int d = docs[a];
+            docs[a] = docs[b];
+            docs[b] = d;
+            float s = scores[a];
+            scores[a] = scores[b];
+            scores[b] = s;
+        }
+    }
+}
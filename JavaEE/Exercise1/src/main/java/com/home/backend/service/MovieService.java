@@ -1,17 +1,30 @@
 package com.home.backend.service;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import com.home.backend.model.Actor;
 import com.home.backend.model.Director;
 import com.home.backend.model.Movie;
 
 import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
 
 /**
  * Service for managing Movie entities and their relationships.
@@ -19,8 +32,35 @@ import jakarta.persistence.PersistenceContext;
  */
 @Stateless
 @Named("movieService")
+@Timed
 public class MovieService {
 
+    /** Query cache region for the hot single-movie and by-year lookups. */
+    static final String QUERY_CACHE_REGION = "movie-queries";
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /** Sortable columns of the movie list, mapped to their JPQL path. */
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+        "title", "m.title",
+        "year", "m.year",
+        "director", "d.lastName"
+    );
+
+    /** Select list and joins of {@link MovieView}; the director is joined as d. */
+    static final String MOVIE_VIEW =
+        "SELECT NEW com.home.backend.service.MovieView(" +
+        "m.id, m.title, m.year, m.genre, m.runtimeMin, m.plotOneLine, m.posterUrl, m.imdbId, " +
+        "d.id, d.firstName, d.lastName, d.birthDate) " +
+        "FROM Movie m JOIN m.director d ";
+
+    /** Keyset condition: rows after the cursor in (title, year, id) order. */
+    private static final String AFTER_CURSOR =
+        // JPQL has no row-value comparison, so (title, year, id) > (:t, :y, :id) is spelled out
+        "WHERE m.title > :title " +
+        "OR (m.title = :title AND (m.year > :year OR (m.year = :year AND m.id > :id))) ";
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -30,6 +70,12 @@ public class MovieService {
     @Inject
     private ActorService actorService;
 
+    @Inject
+    private Event<EntityChangedEvent> changes;
+
+    @Inject
+    private SlowQueryLog slowQueries;
+
     /**
      * Gets all movies from database, including their director info.
      * Movies are sorted alphabetically by title, then by release year.
@@ -38,7 +84,416 @@ public class MovieService {
     public List<Movie> listAll() {
         // JPQL query to fetch movies with eager loading of director relationship
         String queryStr = "SELECT m FROM Movie m JOIN FETCH m.director ORDER BY m.title, m.year";
-        return entityManager.createQuery(queryStr, Movie.class).getResultList();
+        return slowQueries.list(entityManager.createQuery(queryStr, Movie.class));
+    }
+
+    /**
+     * Lists every movie as a read model with its director, without loading entities.
+     * Movies are sorted alphabetically by title, then by release year.
+     * @return All movies; actors are not included
+     */
+    public List<MovieView> listAllViews() {
+        return slowQueries.list(
+            entityManager.createQuery(MOVIE_VIEW + "ORDER BY m.title, m.year", MovieView.class));
+    }
+
+    /**
+     * Gets one page of movies using keyset pagination on (title, year, id).
+     * Unlike OFFSET, the database seeks straight to the cursor position,
+     * so the cost of a page does not grow with how deep the client has paged.
+     * @param after Position of the last row of the previous page, or null for the first page
+     * @param limit Maximum number of movies to return
+     * @return Page of movies with their director, and the cursor of the next page
+     */
+    public Page<MovieView> listPage(MovieCursor after, int limit) {
+        TypedQuery<MovieView> query;
+        if (after == null) {
+            query = entityManager.createQuery(MOVIE_VIEW + "ORDER BY m.title, m.year, m.id", MovieView.class);
+        } else {
+            query = entityManager.createQuery(
+                MOVIE_VIEW + AFTER_CURSOR + "ORDER BY m.title, m.year, m.id",
+                MovieView.class);
+            bindCursor(query, after);
+        }
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<MovieView> rows = slowQueries.list(query.setMaxResults(limit + 1));
+        if (rows.size() <= limit) {
+            return new Page<>(rows, null);
+        }
+        List<MovieView> items = rows.subList(0, limit);
+        return new Page<>(items, MovieCursor.of(items.get(limit - 1)).encode());
+    }
+
+    private static void bindCursor(TypedQuery<?> query, MovieCursor after) {
+        query.setParameter("title", after.title())
+            .setParameter("year", after.year())
+            .setParameter("id", after.id());
+    }
+
+    /**
+     * Lists every movie with only the selected fields, sorted by title, then release year.
+     * @param fields Fields of {@link MovieView#LIST_FIELDS} to load
+     * @return One field map per movie
+     */
+    public List<Map<String, Object>> listAllFields(FieldSelection fields) {
+        return toFieldMaps(slowQueries.list(entityManager.createQuery(
+            selectFields(fields, "") + "ORDER BY m.title, m.year", Object[].class)), fields);
+    }
+
+    /**
+     * Keyset-paginated like {@link #listPage}, with only the selected fields.
+     * @param after Position of the last row of the previous page, or null for the first page
+     * @param limit Maximum number of movies to return
+     * @param fields Fields of {@link MovieView#LIST_FIELDS} to load
+     * @return Page of field maps, and the cursor of the next page
+     */
+    public Page<Map<String, Object>> listPageFields(MovieCursor after, int limit, FieldSelection fields) {
+        // Title and year are selected after the requested fields too, to build the cursor
+        String select = selectFields(fields, ", m.title, m.year");
+        TypedQuery<Object[]> query = after == null
+            ? entityManager.createQuery(select + "ORDER BY m.title, m.year, m.id", Object[].class)
+            : entityManager.createQuery(select + AFTER_CURSOR + "ORDER BY m.title, m.year, m.id", Object[].class);
+        if (after != null) bindCursor(query, after);
+
+        List<Object[]> rows = slowQueries.list(query.setMaxResults(limit + 1));
+        List<Map<String, Object>> items = toFieldMaps(rows.size() <= limit ? rows : rows.subList(0, limit), fields);
+        if (rows.size() <= limit) {
+            return new Page<>(items, null);
+        }
+        Object[] last = rows.get(limit - 1);
+        int n = last.length;
+        return new Page<>(items, new MovieCursor((String) last[n - 2], (Integer) last[n - 1], (Long) last[0]).encode());
+    }
+
+    /**
+     * Loads one movie with only the selected fields.
+     * @param id Movie id
+     * @param fields Fields of {@link MovieView#FIELDS} to load
+     * @return Field map, or null if not found
+     */
+    public Map<String, Object> findDetailFields(Long id, FieldSelection fields) {
+        List<Map<String, Object>> found = withActors(toFieldMaps(slowQueries.list(entityManager.createQuery(
+            selectFields(fields, "") + "WHERE m.id = :id", Object[].class)
+            .setParameter("id", id)
+            .setHint("org.hibernate.cacheable", true)
+            .setHint("org.hibernate.cacheRegion", QUERY_CACHE_REGION)), fields), fields);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    /**
+     * Lists the movies of one release year with only the selected fields.
+     * @param year Release year
+     * @param fields Fields of {@link MovieView#FIELDS} to load
+     * @return Field maps ordered by title
+     */
+    public List<Map<String, Object>> findFieldsByYear(Integer year, FieldSelection fields) {
+        return withActors(toFieldMaps(slowQueries.list(entityManager.createQuery(
+            selectFields(fields, "") + "WHERE m.year = :year ORDER BY m.title", Object[].class)
+            .setParameter("year", year)
+            .setHint("org.hibernate.cacheable", true)
+            .setHint("org.hibernate.cacheRegion", QUERY_CACHE_REGION)), fields), fields);
+    }
+
+    /**
+     * Loads some movies with only the selected fields.
+     * @param ids Movie ids
+     * @param fields Fields of {@link MovieView#FIELDS} to load
+     * @return Field maps of the movies that exist, in no particular order
+     */
+    public List<Map<String, Object>> findFieldsByIds(List<Long> ids, FieldSelection fields) {
+        if (ids.isEmpty()) return List.of();
+        return withActors(toFieldMaps(slowQueries.list(entityManager.createQuery(
+            selectFields(fields, "") + "WHERE m.id IN :ids", Object[].class)
+            .setParameter("ids", ids)), fields), fields);
+    }
+
+    /**
+     * SELECT and FROM for the selected movie fields, plus extra columns at the end;
+     * the director is only joined when it was asked for. The cast is never selected
+     * here, see {@link #withActors(List, FieldSelection)}.
+     */
+    private static String selectFields(FieldSelection fields, String extraColumns) {
+        StringBuilder select = new StringBuilder("SELECT m.id");
+        for (String name : fields.names()) {
+            switch (name) {
+                case "id", "actors" -> { }
+                case "director" -> select.append(", d.id, d.firstName, d.lastName, d.birthDate");
+                default -> select.append(", m.").append(name);
+            }
+        }
+        select.append(extraColumns).append(" FROM Movie m ");
+        if (fields.includes("director")) select.append("JOIN m.director d ");
+        return select.toString();
+    }
+
+    /** Rows of {@link #selectFields} as field maps; trailing extra columns are ignored. */
+    private static List<Map<String, Object>> toFieldMaps(List<Object[]> rows, FieldSelection fields) {
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Map<String, Object> movie = new LinkedHashMap<>();
+            int column = 1;
+            for (String name : fields.names()) {
+                switch (name) {
+                    case "id" -> movie.put(name, row[0]);
+                    case "actors" -> { }
+                    case "director" -> {
+                        movie.put(name, new PersonView((Long) row[column], (String) row[column + 1],
+                            (String) row[column + 2], (LocalDate) row[column + 3]));
+                        column += 4;
+                    }
+                    default -> movie.put(name, row[column++]);
+                }
+            }
+            result.add(movie);
+        }
+        return result;
+    }
+
+    /** Adds the cast to field maps when it was asked for. */
+    private List<Map<String, Object>> withActors(List<Map<String, Object>> movies, FieldSelection fields) {
+        if (!fields.includes("actors") || movies.isEmpty()) return movies;
+        List<Long> ids = new ArrayList<>(movies.size());
+        for (Map<String, Object> m : movies) ids.add((Long) m.get("id"));
+        Map<Long, List<PersonView>> casts = castsOf(ids);
+        for (Map<String, Object> m : movies) m.put("actors", casts.getOrDefault((Long) m.get("id"), List.of()));
+        return movies;
+    }
+
+    /**
+     * Version of a movie's detail view, read without loading the movie: changes
+     * whenever the movie, its cast, its director or one of its actors is updated,
+     * since each of those bumps an {@code @Version} column.
+     * @param id Movie ID
+     * @return Version string, or null if the movie does not exist
+     */
+    public String findDetailVersion(Long id) {
+        List<Object[]> rows = slowQueries.list(entityManager.createQuery(
+            "SELECT m.version, d.version, COUNT(a), COALESCE(SUM(a.version), 0) " +
+            "FROM Movie m JOIN m.director d LEFT JOIN m.actors a " +
+            "WHERE m.id = :id GROUP BY m.version, d.version",
+            Object[].class)
+            .setParameter("id", id)
+            .setHint("org.hibernate.cacheable", true)
+            .setHint("org.hibernate.cacheRegion", QUERY_CACHE_REGION));
+        if (rows.isEmpty()) return null;
+        Object[] row = rows.get(0);
+        return row[0] + "." + row[1] + "." + row[2] + "." + row[3];
+    }
+
+    /**
+     * Loads one movie as a read model with director and cast.
+     * @param id Movie id
+     * @return The movie, or null if not found
+     */
+    public MovieView findDetailView(Long id) {
+        // One round-trip: the movie columns repeat on each cast row, which is cheap for a single movie
+        List<Object[]> rows = slowQueries.list(entityManager.createQuery(
+            MOVIE_VIEW.replace("FROM Movie m JOIN m.director d ",
+                ", NEW com.home.backend.service.MovieActorView(m.id, a.id, a.firstName, a.lastName, a.birthDate) " +
+                "FROM Movie m JOIN m.director d LEFT JOIN m.actors a ") +
+            "WHERE m.id = :id ORDER BY a.lastName, a.firstName",
+            Object[].class)
+            .setParameter("id", id)
+            .setHint("org.hibernate.cacheable", true)
+            .setHint("org.hibernate.cacheRegion", QUERY_CACHE_REGION));
+        if (rows.isEmpty()) return null;
+
+        List<PersonView> cast = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            MovieActorView link = (MovieActorView) row[1];
+            if (link.id() != null) cast.add(link.actor());
+        }
+        return ((MovieView) rows.get(0)[0]).withActors(cast);
+    }
+
+    /**
+     * Lists the movies of one release year as read models with director and cast.
+     * @param year Release year
+     * @return Movies ordered by title
+     */
+    public List<MovieView> findViewsByYear(Integer year) {
+        List<MovieView> movies = slowQueries.list(entityManager.createQuery(
+            MOVIE_VIEW + "WHERE m.year = :year ORDER BY m.title", MovieView.class)
+            .setParameter("year", year)
+            .setHint("org.hibernate.cacheable", true)
+            .setHint("org.hibernate.cacheRegion", QUERY_CACHE_REGION));
+        return withActors(movies);
+    }
+
+    /**
+     * Attaches casts to movie read models with one query for all of them.
+     */
+    private List<MovieView> withActors(List<MovieView> movies) {
+        if (movies.isEmpty()) return movies;
+        List<Long> ids = new ArrayList<>(movies.size());
+        for (MovieView m : movies) ids.add(m.id());
+        Map<Long, List<PersonView>> casts = castsOf(ids);
+
+        List<MovieView> result = new ArrayList<>(movies.size());
+        for (MovieView m : movies) result.add(m.withActors(casts.getOrDefault(m.id(), List.of())));
+        return result;
+    }
+
+    /**
+     * Casts of the given movies with one query, keyed by movie id; movies without actors are absent.
+     */
+    private Map<Long, List<PersonView>> castsOf(List<Long> ids) {
+        Map<Long, List<PersonView>> casts = new HashMap<>();
+        slowQueries.list(entityManager.createQuery(
+            "SELECT NEW com.home.backend.service.MovieActorView(m.id, a.id, a.firstName, a.lastName, a.birthDate) " +
+            "FROM Movie m JOIN m.actors a WHERE m.id IN :ids ORDER BY a.lastName, a.firstName",
+            MovieActorView.class)
+            .setParameter("ids", ids)
+            .setHint("org.hibernate.cacheable", true)
+            .setHint("org.hibernate.cacheRegion", QUERY_CACHE_REGION))
+            .forEach(row -> casts.computeIfAbsent(row.movieId(), k -> new ArrayList<>()).add(row.actor()));
+        return casts;
+    }
+
+    /**
+     * Gets one page of movies for a paged table, sorted and filtered in the database.
+     * @param titlePrefix Only movies whose title starts with this text; null or blank for all
+     * @param sortField One of "title", "year" or "director"; anything else sorts by title
+     * @param ascending Sort direction
+     * @param first Index of the first row to return
+     * @param pageSize Maximum number of rows to return
+     * @return Movies of the requested page with director and actors loaded
+     */
+    public List<Movie> findPage(String titlePrefix, String sortField, boolean ascending, int first, int pageSize) {
+        String dir = ascending ? " ASC" : " DESC";
+        String order = SORT_COLUMNS.getOrDefault(sortField, "m.title") + dir;
+        // Always end on the primary key so rows never shift between pages
+        String jpql = "SELECT m FROM Movie m JOIN FETCH m.director d"
+            + titleFilter(titlePrefix)
+            + " ORDER BY " + order + ", m.id" + dir;
+        TypedQuery<Movie> query = entityManager.createQuery(jpql, Movie.class);
+        bindTitleFilter(query, titlePrefix);
+        List<Movie> page = slowQueries.list(query.setFirstResult(first).setMaxResults(pageSize));
+        fetchActors(page);
+        return page;
+    }
+
+    /**
+     * Initializes the actors of all given movies with a single query, instead of
+     * one lazy load per movie when each row's cast is rendered.
+     * Collections can't be join-fetched in the paged query itself without
+     * Hibernate paginating in memory, hence the second query on the page's movies.
+     * @param movies Managed movies of the current persistence context
+     */
+    private void fetchActors(List<Movie> movies) {
+        if (movies.isEmpty()) return;
+        slowQueries.list(entityManager.createQuery(
+            "SELECT DISTINCT m FROM Movie m LEFT JOIN FETCH m.actors WHERE m IN :movies",
+            Movie.class)
+            .setParameter("movies", movies));
+    }
+
+    /**
+     * Counts the movies matching the paged-table filter.
+     * @param titlePrefix Title prefix filter; null or blank for all movies
+     * @return Number of matching movies
+     */
+    public long countMatching(String titlePrefix) {
+        TypedQuery<Long> query = entityManager.createQuery(
+            "SELECT COUNT(m) FROM Movie m" + titleFilter(titlePrefix), Long.class);
+        bindTitleFilter(query, titlePrefix);
+        return slowQueries.single(query);
+    }
+
+    private static String titleFilter(String titlePrefix) {
+        // A prefix match can use the title index, unlike '%...%'.
+        // '!' rather than backslash as escape: MariaDB treats backslash specially inside literals
+        return titlePrefix == null || titlePrefix.isBlank() ? "" : " WHERE m.title LIKE :prefix ESCAPE '!'";
+    }
+
+    private static void bindTitleFilter(TypedQuery<?> query, String titlePrefix) {
+        if (titlePrefix == null || titlePrefix.isBlank()) return;
+        String escaped = titlePrefix.trim()
+            .replace("!", "!!")
+            .replace("%", "!%")
+            .replace("_", "!_");
+        query.setParameter("prefix", escaped + "%");
+    }
+
+    /**
+     * Streams every movie with its director to the given sink, in id order.
+     * Rows are pulled from a cursor fetchSize at a time and the persistence
+     * context is cleared after each window, so heap use stays bounded
+     * regardless of catalog size. The sink must not keep references to the
+     * movies it receives; they are detached once their window is cleared.
+     * <p>
+     * Runs outside a transaction: the sink writes to a client, and a large
+     * catalog sent to a slow one takes longer than the JTA transaction timeout,
+     * which would cut the export off midway.
+     * @param fetchSize Rows per JDBC round-trip and per persistence-context window
+     * @param sink Callback invoked once per movie
+     * @return Number of movies streamed
+     */
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public long forEachMovie(int fetchSize, Consumer<Movie> sink) {
+        long count = 0;
+        try (Stream<Movie> rows = entityManager.createQuery(
+                "SELECT m FROM Movie m JOIN FETCH m.director ORDER BY m.id",
+                Movie.class)
+                .setHint("org.hibernate.fetchSize", fetchSize)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream()) {
+            Iterator<Movie> it = rows.iterator();
+            while (it.hasNext()) {
+                sink.accept(it.next());
+                if (++count % fetchSize == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Streams the searchable text of every movie without loading entities.
+     * @param sink Callback invoked once per movie
+     */
+    public void forEachMovieText(Consumer<MovieText> sink) {
+        try (Stream<MovieText> rows = entityManager.createQuery(
+                "SELECT NEW com.home.backend.service.MovieText(m.id, m.title, m.year, m.genre, m.plotOneLine) " +
+                "FROM Movie m ORDER BY m.id",
+                MovieText.class)
+                .setHint("org.hibernate.fetchSize", 1000)
+                .getResultStream()) {
+            rows.forEach(sink);
+        }
+    }
+
+    /**
+     * Streams the director and genre of every movie without loading entities.
+     * @param sink Callback invoked once per movie, in id order
+     */
+    public void forEachMovieTraits(Consumer<MovieTraits> sink) {
+        try (Stream<MovieTraits> rows = entityManager.createQuery(
+                "SELECT NEW com.home.backend.service.MovieTraits(m.id, m.director.id, m.genre) " +
+                "FROM Movie m ORDER BY m.id",
+                MovieTraits.class)
+                .setHint("org.hibernate.fetchSize", 1000)
+                .getResultStream()) {
+            rows.forEach(sink);
+        }
+    }
+
+    /**
+     * Streams every cast link as (movie id, actor id), ordered by movie then actor,
+     * without loading entities.
+     * @param sink Callback invoked once per link
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachCastLink(BiConsumer<Long, Long> sink) {
+        // The join table alone has both ids; JPQL would join MOVIE and ACTOR to reach them
+        try (Stream<Object[]> rows = entityManager.createNativeQuery(
+                "SELECT movie_id, actor_id FROM MOVIE_ACTORS ORDER BY movie_id, actor_id")
+                .setHint("org.hibernate.fetchSize", 1000)
+                .getResultStream()) {
+            rows.forEach(row -> sink.accept(((Number) row[0]).longValue(), ((Number) row[1]).longValue()));
+        }
     }
 
     /**
@@ -49,13 +504,15 @@ public class MovieService {
      */
     public Movie findWithDetails(Long id) {
         // Complex query to load movie with all related entities
-        List<Movie> results = entityManager.createQuery(
+        List<Movie> results = slowQueries.list(entityManager.createQuery(
             "SELECT DISTINCT m FROM Movie m " +
             "LEFT JOIN FETCH m.director " +
             "LEFT JOIN FETCH m.actors " +
             "WHERE m.id = :id",
             Movie.class
-        ).setParameter("id", id).getResultList();
+        ).setParameter("id", id)
+            .setHint("org.hibernate.cacheable", true)
+            .setHint("org.hibernate.cacheRegion", QUERY_CACHE_REGION));
 
         // Return first result or null if no movie found
         return results.isEmpty() ? null : results.get(0);
@@ -67,13 +524,15 @@ public class MovieService {
      * @return List of movies from that year
      */
     public List<Movie> findByYear(Integer year) {
-        return entityManager.createQuery(
+        return slowQueries.list(entityManager.createQuery(
             "SELECT DISTINCT m FROM Movie m " +
             "JOIN FETCH m.director " +
             "LEFT JOIN FETCH m.actors " +
             "WHERE m.year = :year ORDER BY m.title",
             Movie.class
-        ).setParameter("year", year).getResultList();
+        ).setParameter("year", year)
+            .setHint("org.hibernate.cacheable", true)
+            .setHint("org.hibernate.cacheRegion", QUERY_CACHE_REGION));
     }
 
     /**
@@ -82,6 +541,7 @@ public class MovieService {
      */
     public void create(Movie movie) {
         entityManager.persist(movie);
+        changes.fire(EntityChangedEvent.created(movie));
     }
 
     /**
@@ -90,10 +550,14 @@ public class MovieService {
      * @param actorIds IDs of actors to associate
      */
     public void addActors(Movie movie, Iterable<Long> actorIds) {
-        List<Long> idList = new java.util.ArrayList<>();
+        List<Long> idList = new ArrayList<>();
         actorIds.forEach(idList::add);
         Set<Actor> selectedActors = Set.copyOf(actorService.findByIds(idList));
         movie.setActors(selectedActors);
+        if (entityManager.contains(movie)) {
+            // Only a managed movie's cast is written; a new one reports it when created
+            changes.fire(EntityChangedEvent.updated(movie));
+        }
     }
 
     // Delegated methods for backward compatibility
@@ -110,7 +574,7 @@ public class MovieService {
     }
 
     public List<Actor> findActorsByIds(Iterable<Long> ids) {
-        List<Long> idList = new java.util.ArrayList<>();
+        List<Long> idList = new ArrayList<>();
         ids.forEach(idList::add);
         return actorService.findByIds(idList);
     }
@@ -0,0 +1,193 @@
+package com.home.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.hibernate.Hibernate;
+
+import com.home.backend.model.Actor;
+import com.home.backend.model.Movie;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+
+/**
+ * Precomputed "similar movies" for every movie, see {@link SimilarityIndex}.
+ * <p>
+ * Built from the database at startup, scoring all movies in parallel on a
+ * fork/join pool of similarity.parallelism threads (default: one per core).
+ * Committed movie changes are queued and applied in batches on the managed
+ * executor; each batch rescores only the movies that share an actor or
+ * director with a changed one. Reads are lock-free.
+ */
+@ApplicationScoped
+@Timed
+public class MovieSimilarity {
+
+    private static final Logger LOG = Logger.getLogger(MovieSimilarity.class.getName());
+
+    private static final FieldSelection MOVIE_FIELDS = FieldSelection.parse("title,year", MovieView.LIST_FIELDS);
+
+    @Inject
+    private MovieService movieService;
+
+    @Resource
+    private ManagedExecutorService executor;
+
+    private final int topK = Settings.getInt("similarity.top-k", 10);
+    private ForkJoinPool pool;
+
+    private volatile SimilarityIndex index = SimilarityIndex.empty(topK);
+    // Serializes rebuilds and patches; readers only read the volatile field
+    private final Object writeMonitor = new Object();
+    private final PatchQueue<Change> patches =
+        new PatchQueue<>(writeMonitor, this::applyChanges, LOG, "Could not apply movie changes to similar movies");
+
+    @PostConstruct
+    void init() {
+        pool = new ForkJoinPool(Settings.getInt("similarity.parallelism", Runtime.getRuntime().availableProcessors()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object ignored) {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // Database not ready: no movie has similar ones until the next rebuild
+            LOG.log(Level.WARNING, "Could not build similar movies at startup", e);
+        }
+    }
+
+    /**
+     * Re-reads all movies and rescores all of them. Changes queued meanwhile
+     * are applied afterwards; they carry the whole new state of a movie, so
+     * applying one the new index already contains is harmless.
+     */
+    public void rebuild() {
+        synchronized (writeMonitor) {
+            long start = System.nanoTime();
+            List<MovieTraits> traits = new ArrayList<>();
+            movieService.forEachMovieTraits(traits::add);
+            long[] ids = new long[traits.size()];
+            long[] directors = new long[ids.length];
+            String[] genres = new String[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                MovieTraits t = traits.get(i);
+                ids[i] = t.id();
+                directors[i] = t.directorId() == null ? 0 : t.directorId();
+                genres[i] = t.genre();
+            }
+            CastLinks links = new CastLinks();
+            movieService.forEachCastLink(links::add);
+            SimilarityIndex fresh = SimilarityIndex.of(ids, directors, genres,
+                links.movies, links.actors, links.size, topK, pool);
+            index = fresh;
+            LOG.info("Similar movies computed for " + fresh.size() + " movies in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+        }
+    }
+
+    void onMovieChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) EntityChangedEvent event) {
+        Change change;
+        if (event.entityType() == Movie.class) {
+            Movie m = (Movie) event.entity();
+            if (event.kind() == EntityChangedEvent.Kind.DELETED) {
+                change = new Change(m.getId(), null, null);
+            } else {
+                // An uninitialized cast was never touched, so the index already has it
+                long[] cast = m.getActors() != null && Hibernate.isInitialized(m.getActors()) ? CastLinks.castOf(m) : null;
+                long director = m.getDirector() == null || m.getDirector().getId() == null ? 0 : m.getDirector().getId();
+                change = new Change(m.getId(), new SimilarityIndex.Features(director, m.getGenre(), cast), null);
+            }
+        } else if (event.entityType() == Actor.class && event.kind() == EntityChangedEvent.Kind.DELETED) {
+            change = new Change(null, null, ((Actor) event.entity()).getId());
+        } else {
+            return;
+        }
+        patches.add(change, executor);
+    }
+
+    private void applyChanges(List<Change> changes) {
+        SortedMap<Long, SimilarityIndex.Features> upserts = new TreeMap<>();
+        Set<Long> removedMovies = new HashSet<>();
+        Set<Long> removedActors = new HashSet<>();
+        for (Change c : changes) {
+            if (c.removedActorId() != null) {
+                removedActors.add(c.removedActorId());
+            } else if (c.features() == null) {
+                upserts.remove(c.movieId());
+                removedMovies.add(c.movieId());
+            } else {
+                SimilarityIndex.Features earlier = upserts.get(c.movieId());
+                SimilarityIndex.Features f = c.features();
+                if (f.cast() == null && earlier != null) {
+                    // Keep a cast change still waiting in this batch
+                    f = new SimilarityIndex.Features(f.directorId(), f.genre(), earlier.cast());
+                }
+                upserts.put(c.movieId(), f);
+                removedMovies.remove(c.movieId());
+            }
+        }
+        if (!upserts.isEmpty() || !removedMovies.isEmpty() || !removedActors.isEmpty()) {
+            index = index.withChanges(upserts, removedMovies, removedActors, pool);
+        }
+    }
+
+    /**
+     * Movies most like the given one.
+     * @param movieId Movie id
+     * @param limit Maximum number of results, at most similarity.top-k
+     * @return Most similar first, or null if the movie is not known (yet)
+     */
+    public List<SimilarMovie> similar(long movieId, int limit) {
+        List<SimilarityIndex.Match> matches = index.similar(movieId, limit);
+        if (matches == null) return null;
+        if (matches.isEmpty()) return List.of();
+        List<Long> ids = new ArrayList<>(matches.size());
+        for (SimilarityIndex.Match m : matches) ids.add(m.movieId());
+        Map<Long, Map<String, Object>> movies = new HashMap<>();
+        for (Map<String, Object> m : movieService.findFieldsByIds(ids, MOVIE_FIELDS)) {
+            movies.put((Long) m.get("id"), m);
+        }
+        List<SimilarMovie> result = new ArrayList<>(matches.size());
+        for (SimilarityIndex.Match m : matches) {
+            Map<String, Object> movie = movies.get(m.movieId());
+            // Deleted since its row was last scored
+            if (movie != null) {
+                result.add(new SimilarMovie(m.movieId(), (String) movie.get("title"), (Integer) movie.get("year"), m.score()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return Similar movies kept per movie
+     */
+    public int topK() {
+        return topK;
+    }
+
+    /** A movie's new features (null when deleted), or an actor removed from every cast. */
+    private record Change(Long movieId, SimilarityIndex.Features features, Long removedActorId) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.home.backend.service;
+
+/**
+ * Searchable columns of a movie, loaded with a JPQL constructor expression.
+ */
+public record MovieText(Long id, String title, Integer year, String genre, String plotOneLine) {
+}
@@ -0,0 +1,8 @@
+package com.home.backend.service;
+
+/**
+ * What {@link MovieSimilarity} compares a movie by, apart from its cast; loaded with a
+ * JPQL constructor expression.
+ */
+public record MovieTraits(Long id, Long directorId, String genre) {
+}
@@ -0,0 +1,185 @@
+package com.home.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.home.backend.model.Actor;
+import com.home.backend.model.Director;
+import com.home.backend.model.Movie;
+
+import jakarta.ejb.Stateless;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.json.JsonObject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Writes batches of externally sourced movies, one transaction per batch.
+ * Directors and actors are resolved by name once per batch and created when missing.
+ */
+@Stateless
+@Timed
+public class MovieUpsertService {
+
+    private static final int NAME_LENGTH = 30;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Inject
+    private Event<EntityChangedEvent> changes;
+
+    @Inject
+    private DirectorService directorService;
+
+    @Inject
+    private ActorService actorService;
+
+    /**
+     * Inserts or updates movies from OMDb responses, matched on IMDb ID.
+     * Responses without an IMDb ID, a title or a usable year are skipped and
+     * leave the stored movie untouched.
+     * @param batch Successful OMDb responses
+     * @return Number of movies inserted or updated
+     */
+    public int upsertOmdb(List<JsonObject> batch) {
+        Map<String, JsonObject> byImdbId = new LinkedHashMap<>();
+        for (JsonObject data : batch) {
+            String imdbId = data.getString("imdbID", "");
+            if (!imdbId.isEmpty()) byImdbId.put(imdbId, data);
+        }
+        if (byImdbId.isEmpty()) return 0;
+
+        Map<String, Movie> existing = new HashMap<>();
+        entityManager.createQuery(
+            "SELECT m FROM Movie m WHERE m.imdbId IN :ids", Movie.class)
+            .setParameter("ids", byImdbId.keySet())
+            .getResultList()
+            .forEach(m -> existing.put(m.getImdbId(), m));
+
+        Set<PersonName> directorNames = new LinkedHashSet<>();
+        Set<PersonName> actorNames = new LinkedHashSet<>();
+        for (JsonObject data : byImdbId.values()) {
+            directorNames.add(directorOf(data));
+            actorNames.addAll(actorsOf(data));
+        }
+        Map<PersonName, Director> directors = resolveDirectors(directorNames);
+        Map<PersonName, Actor> actors = resolveActors(actorNames);
+
+        int written = 0;
+        for (Map.Entry<String, JsonObject> e : byImdbId.entrySet()) {
+            JsonObject data = e.getValue();
+            // Check on a detached copy: a rejected response must not touch a managed movie,
+            // which would be flushed without a change event
+            Movie parsed = new Movie();
+            OmdbService.applyTo(data, parsed);
+            if (parsed.getYear() == null || parsed.getTitle().isBlank()) continue;
+            Movie movie = existing.get(e.getKey());
+            if (movie == null) {
+                movie = parsed;
+            } else {
+                OmdbService.applyTo(data, movie);
+            }
+
+            movie.setDirector(directors.get(directorOf(data)));
+            Set<Actor> cast = new LinkedHashSet<>();
+            for (PersonName name : actorsOf(data)) cast.add(actors.get(name));
+            movie.setActors(cast);
+            if (movie.getId() == null) {
+                entityManager.persist(movie);
+                changes.fire(EntityChangedEvent.created(movie));
+            } else {
+                changes.fire(EntityChangedEvent.updated(movie));
+            }
+            written++;
+        }
+        return written;
+    }
+
+    private Map<PersonName, Director> resolveDirectors(Set<PersonName> names) {
+        Map<PersonName, Director> found = new HashMap<>();
+        entityManager.createQuery(
+            "SELECT d FROM Director d WHERE d.lastName IN :lastNames", Director.class)
+            .setParameter("lastNames", lastNames(names))
+            .getResultList()
+            .forEach(d -> found.putIfAbsent(new PersonName(d.getFirstName(), d.getLastName()), d));
+        for (PersonName name : names) {
+            found.computeIfAbsent(name, n -> {
+                Director d = new Director();
+                d.setFirstName(n.first());
+                d.setLastName(n.last());
+                directorService.create(d);
+                return d;
+            });
+        }
+        return found;
+    }
+
+    private Map<PersonName, Actor> resolveActors(Set<PersonName> names) {
+        Map<PersonName, Actor> found = new HashMap<>();
+        if (names.isEmpty()) return found;
+        entityManager.createQuery(
+            "SELECT a FROM Actor a WHERE a.lastName IN :lastNames", Actor.class)
+            .setParameter("lastNames", lastNames(names))
+            .getResultList()
+            .forEach(a -> found.putIfAbsent(new PersonName(a.getFirstName(), a.getLastName()), a));
+        for (PersonName name : names) {
+            found.computeIfAbsent(name, n -> {
+                Actor a = new Actor();
+                a.setFirstName(n.first());
+                a.setLastName(n.last());
+                actorService.create(a);
+                return a;
+            });
+        }
+        return found;
+    }
+
+    private static List<String> lastNames(Set<PersonName> names) {
+        List<String> result = new ArrayList<>(names.size());
+        for (PersonName n : names) result.add(n.last());
+        return result;
+    }
+
+    private static PersonName directorOf(JsonObject data) {
+        List<PersonName> names = PersonName.parseList(data.getString("Director", ""));
+        return names.isEmpty() ? new PersonName("Unknown", "Director") : names.get(0);
+    }
+
+    private static List<PersonName> actorsOf(JsonObject data) {
+        return PersonName.parseList(data.getString("Actors", ""));
+    }
+
+    /**
+     * First/last name pair as stored on Director and Actor, truncated to the column size.
+     */
+    private record PersonName(String first, String last) {
+
+        /**
+         * Parses OMDb's comma-separated name lists, e.g. "Joel Coen, Ethan Coen".
+         */
+        static List<PersonName> parseList(String value) {
+            List<PersonName> names = new ArrayList<>();
+            if (value.isBlank() || "N/A".equals(value)) return names;
+            for (String raw : value.split(",")) {
+                String name = raw.trim();
+                if (name.isEmpty()) continue;
+                int space = name.lastIndexOf(' ');
+                names.add(space < 0
+                    ? new PersonName(cut(name), "")
+                    : new PersonName(cut(name.substring(0, space).trim()), cut(name.substring(space + 1))));
+            }
+            return names;
+        }
+
+        private static String cut(String s) {
+            return s.length() <= NAME_LENGTH ? s : s.substring(0, NAME_LENGTH);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.home.backend.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Read model of a movie, as returned by the REST API.
+ * List endpoints leave {@code actors} null (omitted from JSON); detail
+ * endpoints fill it from a second projection query.
+ */
+public record MovieView(
+        Long id,
+        String title,
+        Integer year,
+        String genre,
+        Integer runtimeMin,
+        String plotOneLine,
+        String posterUrl,
+        String imdbId,
+        PersonView director,
+        List<PersonView> actors) {
+
+    /** Names accepted by {@code ?fields=}; the scalar ones are also the entity attribute names. */
+    public static final List<String> FIELDS = List.of(
+        "id", "title", "year", "genre", "runtimeMin", "plotOneLine", "posterUrl", "imdbId", "director", "actors");
+
+    /** {@link #FIELDS} of list endpoints, which never include the cast. */
+    public static final List<String> LIST_FIELDS = FIELDS.subList(0, FIELDS.size() - 1);
+
+    /**
+     * Target of the JPQL constructor expression in {@link MovieService#MOVIE_VIEW};
+     * JPQL can't nest NEW, so the director columns arrive flat.
+     */
+    public MovieView(Long id, String title, Integer year, String genre, Integer runtimeMin,
+                     String plotOneLine, String posterUrl, String imdbId,
+                     Long directorId, String directorFirstName, String directorLastName, LocalDate directorBirthDate) {
+        this(id, title, year, genre, runtimeMin, plotOneLine, posterUrl, imdbId,
+            new PersonView(directorId, directorFirstName, directorLastName, directorBirthDate), null);
+    }
+
+    public MovieView withActors(List<PersonView> cast) {
+        return new MovieView(id, title, year, genre, runtimeMin, plotOneLine, posterUrl, imdbId, director, cast);
+    }
+}
@@ -0,0 +1,164 @@
+package com.home.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable prefix index over person names. Every person has a "first last"
+ * and a "last, first" key, both accent-free, lower-case and with single
+ * spaces. The keys are one sorted {@code String[]} with the person of each key
+ * in a parallel array, so a lookup is a binary search for the first key at or
+ * after the prefix plus a scan of the keys that start with it.
+ */
+public final class NamePrefixIndex {
+
+    public static final NamePrefixIndex EMPTY = new NamePrefixIndex(new String[0], new PersonView[0]);
+
+    private final String[] keys;        // sorted
+    private final PersonView[] owners;  // person of each key
+
+    private NamePrefixIndex(String[] keys, PersonView[] owners) {
+        this.keys = keys;
+        this.owners = owners;
+    }
+
+    /**
+     * @param people People to index
+     * @return The index
+     */
+    public static NamePrefixIndex of(Collection<PersonView> people) {
+        List<Entry> entries = new ArrayList<>(people.size() * 2);
+        for (PersonView p : people) addKeys(p, entries);
+        return fromSorted(sorted(entries));
+    }
+
+    /**
+     * Returns a new index with some people added, replaced or removed; this one is unchanged.
+     * @param upserts Person id to the person's new name
+     * @param removed Ids of people to drop
+     * @return The patched index
+     */
+    public NamePrefixIndex withChanges(Map<Long, PersonView> upserts, Set<Long> removed) {
+        List<Entry> added = new ArrayList<>(upserts.size() * 2);
+        for (PersonView p : upserts.values()) addKeys(p, added);
+        Entry[] fresh = sorted(added);
+
+        // Merge the kept keys with the new ones, both in key order
+        String[] mergedKeys = new String[keys.length + fresh.length];
+        PersonView[] mergedOwners = new PersonView[mergedKeys.length];
+        int n = 0;
+        int j = 0;
+        for (int i = 0; i < keys.length; i++) {
+            Long id = owners[i].id();
+            if (upserts.containsKey(id) || removed.contains(id)) continue;
+            for (; j < fresh.length && fresh[j].key().compareTo(keys[i]) < 0; j++) {
+                mergedKeys[n] = fresh[j].key();
+                mergedOwners[n++] = fresh[j].owner();
+            }
+            mergedKeys[n] = keys[i];
+            mergedOwners[n++] = owners[i];
+        }
+        for (; j < fresh.length; j++) {
+            mergedKeys[n] = fresh[j].key();
+            mergedOwners[n++] = fresh[j].owner();
+        }
+        return new NamePrefixIndex(Arrays.copyOf(mergedKeys, n), Arrays.copyOf(mergedOwners, n));
+    }
+
+    /**
+     * People whose name starts with the prefix, as "first last" or "last, first".
+     * "hanks t" also matches "hanks, tom".
+     * @param prefix Typed text
+     * @param limit Maximum number of people
+     * @return People in order of their matching name
+     */
+    public List<PersonView> suggest(String prefix, int limit) {
+        String p = normalize(prefix);
+        if (p.isEmpty() || limit <= 0) return List.of();
+        List<PersonView> result = new ArrayList<>(Math.min(limit, 16));
+        Set<Long> seen = new HashSet<>();
+        collect(p, limit, result, seen);
+        int space = p.indexOf(' ');
+        if (space > 0 && p.indexOf(',') < 0) {
+            collect(p.substring(0, space) + "," + p.substring(space), limit, result, seen);
+        }
+        return result;
+    }
+
+    private void collect(String prefix, int limit, List<PersonView> into, Set<Long> seen) {
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        for (int i = lo; i < keys.length && into.size() < limit && keys[i].startsWith(prefix); i++) {
+            if (seen.add(owners[i].id())) into.add(owners[i]);
+        }
+    }
+
+    /**
+     * @return Number of keys, two per person with both names
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /** Folds accents and case and collapses whitespace; a trailing space is kept, it ends a word. */
+    static String normalize(String text) {
+        if (text == null) return "";
+        String folded = Tokenizer.fold(text);
+        StringBuilder out = new StringBuilder(folded.length());
+        boolean space = false;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = out.length() > 0;
+            } else {
+                if (space) out.append(' ');
+                space = false;
+                out.append(c);
+            }
+        }
+        if (space) out.append(' ');
+        return out.toString();
+    }
+
+    private static void addKeys(PersonView p, List<Entry> into) {
+        String first = normalize(p.firstName()).strip();
+        String last = normalize(p.lastName()).strip();
+        if (first.isEmpty() && last.isEmpty()) return;
+        if (first.isEmpty() || last.isEmpty()) {
+            into.add(new Entry(first + last, p));
+            return;
+        }
+        into.add(new Entry(first + " " + last, p));
+        into.add(new Entry(last + ", " + first, p));
+    }
+
+    private static Entry[] sorted(List<Entry> entries) {
+        Entry[] array = entries.toArray(new Entry[0]);
+        Arrays.sort(array, Comparator.comparing(Entry::key));
+        return array;
+    }
+
+    private static NamePrefixIndex fromSorted(Entry[] entries) {
+        String[] keys = new String[entries.length];
+        PersonView[] owners = new PersonView[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            keys[i] = entries[i].key();
+            owners[i] = entries[i].owner();
+        }
+        return new NamePrefixIndex(keys, owners);
+    }
+
+    private record Entry(String key, PersonView owner) {
+    }
+}
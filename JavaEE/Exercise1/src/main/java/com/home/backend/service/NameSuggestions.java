@@ -0,0 +1,144 @@
+package com.home.backend.service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.home.backend.model.Actor;
+import com.home.backend.model.Director;
+
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+
+/**
+ * Name autocomplete for actors and directors, answered from memory, see {@link NamePrefixIndex}.
+ * <p>
+ * Built from the database at startup and kept current by observing committed
+ * actor and director changes. Changes are queued and applied in batches on the
+ * managed executor, each batch merging into new indexes that replace the old
+ * ones, so a burst of creates costs one merge and lookups never wait.
+ */
+@ApplicationScoped
+@Timed
+public class NameSuggestions {
+
+    private static final Logger LOG = Logger.getLogger(NameSuggestions.class.getName());
+
+    @Inject
+    private ActorService actorService;
+
+    @Inject
+    private DirectorService directorService;
+
+    @Resource
+    private ManagedExecutorService executor;
+
+    private volatile NamePrefixIndex actors = NamePrefixIndex.EMPTY;
+    private volatile NamePrefixIndex directors = NamePrefixIndex.EMPTY;
+    // Serializes rebuilds and patches; readers only read the volatile fields
+    private final Object writeMonitor = new Object();
+    private final PatchQueue<Change> patches =
+        new PatchQueue<>(writeMonitor, this::applyChanges, LOG, "Could not apply name changes to suggestions");
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object ignored) {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // Database not ready: suggestions stay empty until the next rebuild or creates
+            LOG.log(Level.WARNING, "Could not build name suggestions at startup", e);
+        }
+    }
+
+    /**
+     * Re-reads all actors and directors and replaces both indexes. Changes
+     * queued meanwhile are applied afterwards; they carry the whole name, so
+     * applying one the new index already contains is harmless.
+     */
+    public void rebuild() {
+        synchronized (writeMonitor) {
+            actors = NamePrefixIndex.of(actorService.findAllViews());
+            directors = NamePrefixIndex.of(directorService.findAllViews());
+            LOG.info("Name suggestions built with " + actors.size() + " actor and "
+                + directors.size() + " director names");
+        }
+    }
+
+    void onPersonChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) EntityChangedEvent event) {
+        PersonView person;
+        if (event.entityType() == Actor.class) {
+            Actor a = (Actor) event.entity();
+            person = new PersonView(a.getId(), a.getFirstName(), a.getLastName(), a.getBirthDate());
+        } else if (event.entityType() == Director.class) {
+            Director d = (Director) event.entity();
+            person = new PersonView(d.getId(), d.getFirstName(), d.getLastName(), d.getBirthDate());
+        } else {
+            return;
+        }
+        patches.add(new Change(event.entityType() == Actor.class, person,
+            event.kind() == EntityChangedEvent.Kind.DELETED), executor);
+    }
+
+    private void applyChanges(List<Change> changes) {
+        Batch actorChanges = new Batch();
+        Batch directorChanges = new Batch();
+        for (Change c : changes) {
+            (c.actor() ? actorChanges : directorChanges).add(c);
+        }
+        if (!actorChanges.isEmpty()) actors = actors.withChanges(actorChanges.upserts, actorChanges.removed);
+        if (!directorChanges.isEmpty()) {
+            directors = directors.withChanges(directorChanges.upserts, directorChanges.removed);
+        }
+    }
+
+    /**
+     * @param prefix Typed part of a "first last" or "last, first" name
+     * @param limit Maximum number of actors
+     * @return Matching actors in order of their matching name
+     */
+    public List<PersonView> suggestActors(String prefix, int limit) {
+        return actors.suggest(prefix, limit);
+    }
+
+    /**
+     * @param prefix Typed part of a "first last" or "last, first" name
+     * @param limit Maximum number of directors
+     * @return Matching directors in order of their matching name
+     */
+    public List<PersonView> suggestDirectors(String prefix, int limit) {
+        return directors.suggest(prefix, limit);
+    }
+
+    /** A person's new name, or their removal. */
+    private record Change(boolean actor, PersonView person, boolean deleted) {
+    }
+
+    /** Changes to one index, last one per person wins. */
+    private static final class Batch {
+        final Map<Long, PersonView> upserts = new HashMap<>();
+        final Set<Long> removed = new HashSet<>();
+
+        void add(Change c) {
+            Long id = c.person().id();
+            if (c.deleted()) {
+                upserts.remove(id);
+                removed.add(id);
+            } else {
+                removed.remove(id);
+                upserts.put(id, c.person());
+            }
+        }
+
+        boolean isEmpty() {
+            return upserts.isEmpty() && removed.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.home.backend.service;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.json.JsonObject;
+
+/**
+ * Bounded LRU cache of OMDb responses keyed by normalized title.
+ * Entries expire after a TTL; "not found" answers use a shorter TTL so a
+ * typo is not re-sent to OMDb on every keystroke but new releases still show up.
+ */
+public class OmdbCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final Map<String, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public OmdbCache(int maxEntries, long ttlMillis, long negativeTtlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.negativeTtlMillis = negativeTtlMillis;
+        // Access-ordered so the eldest entry is the least recently used one
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > OmdbCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Normalizes a title so "  The  Matrix" and "the matrix" share an entry.
+     */
+    public static String normalize(String title) {
+        return title.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param key Normalized title
+     * @return The cached response, or null when absent or expired
+     */
+    public JsonObject get(String key) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry e = entries.get(key);
+            if (e != null && e.expiresAt > now) {
+                hits.increment();
+                return e.value;
+            }
+            if (e != null) {
+                entries.remove(key);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Caches a response.
+     * @param key Normalized title
+     * @param value OMDb response
+     * @param negative True for a "not found" answer, which gets the shorter TTL
+     */
+    public void put(String key, JsonObject value, boolean negative) {
+        long expiresAt = System.currentTimeMillis() + (negative ? negativeTtlMillis : ttlMillis);
+        synchronized (entries) {
+            entries.put(key, new Entry(value, expiresAt));
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return Fraction of lookups served from the cache, 0 when there were none
+     */
+    public double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    private record Entry(JsonObject value, long expiresAt) {
+    }
+}
@@ -1,22 +1,167 @@
 package com.home.backend.service;
 
-import jakarta.ejb.Stateless;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import com.home.backend.model.Movie;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.json.Json;
 import jakarta.json.JsonObject;
-import jakarta.ws.rs.client.ClientBuilder;
-import jakarta.ws.rs.core.MediaType;
+import jakarta.json.JsonReader;
 
-@Stateless
+/**
+ * Client for the OMDb API.
+ * One HttpClient (and so one connection pool) is shared by all callers, every
+ * call is bounded by connect and read timeouts, and answers are kept in an
+ * {@link OmdbCache}. Timeouts and cache sizes come from {@link Settings};
+ * pointing omdb.base-url at a local stub server allows offline use.
+ */
+@ApplicationScoped
+@Timed
 public class OmdbService {
-    private static final String API = "https://www.omdbapi.com/";
 
+    private static final String NOT_FOUND = "Movie not found!";
+    private static final Pattern IMDB_ID = Pattern.compile("tt\\d{5,10}");
+
+    private HttpClient client;
+    private URI api;
+    private Duration readTimeout;
+    private OmdbCache cache;
+
+    @PostConstruct
+    void init() {
+        api = URI.create(Settings.get("omdb.base-url", "https://www.omdbapi.com/"));
+        readTimeout = Duration.ofMillis(Settings.getLong("omdb.read-timeout-ms", 5_000));
+        client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(Settings.getLong("omdb.connect-timeout-ms", 2_000)))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+        cache = new OmdbCache(
+            Settings.getInt("omdb.cache.max-entries", 10_000),
+            Duration.ofMinutes(Settings.getLong("omdb.cache.ttl-minutes", 24 * 60)).toMillis(),
+            Duration.ofMinutes(Settings.getLong("omdb.cache.negative-ttl-minutes", 10)).toMillis());
+    }
+
+    /**
+     * Looks up a movie by title, answering from the cache when possible.
+     * @param title Movie title
+     * @param apiKey OMDb API key
+     * @return OMDb response; check its "Response" field for "True"
+     * @throws RuntimeException on HTTP errors, timeouts or I/O failures
+     */
     public JsonObject fetchMovie(String title, String apiKey) {
-        var client = ClientBuilder.newClient();
-        var resp = client.target(API)
-            .queryParam("t", title)
-            .queryParam("apikey", apiKey)
-            .request(MediaType.APPLICATION_JSON_TYPE)
-            .get();
-        if (resp.getStatus() != 200) throw new RuntimeException("OMDb HTTP " + resp.getStatus());
-        return resp.readEntity(JsonObject.class);
+        return fetch("t", title, OmdbCache.normalize(title), apiKey);
+    }
+
+    /**
+     * Looks up a movie by IMDb ID (e.g. "tt15398776"), answering from the cache when possible.
+     * @param imdbId IMDb identifier
+     * @param apiKey OMDb API key
+     * @return OMDb response; check its "Response" field for "True"
+     */
+    public JsonObject fetchByImdbId(String imdbId, String apiKey) {
+        String id = imdbId.trim();
+        return fetch("i", id, "imdb:" + id.toLowerCase(Locale.ROOT), apiKey);
+    }
+
+    /**
+     * Looks up either an IMDb ID or a title, whichever the input looks like.
+     */
+    public JsonObject fetchByTitleOrImdbId(String titleOrId, String apiKey) {
+        return isImdbId(titleOrId) ? fetchByImdbId(titleOrId, apiKey) : fetchMovie(titleOrId, apiKey);
+    }
+
+    public static boolean isImdbId(String value) {
+        return value != null && IMDB_ID.matcher(value.trim()).matches();
+    }
+
+    /**
+     * @return True if the response describes a movie
+     */
+    public static boolean isFound(JsonObject data) {
+        return data != null && "True".equals(data.getString("Response", "False"));
+    }
+
+    /**
+     * Copies the fields of a successful OMDb response onto a movie.
+     * Director and actors are left alone since they need to be resolved to entities.
+     * @param data OMDb response
+     * @param movie Movie to fill in
+     */
+    public static void applyTo(JsonObject data, Movie movie) {
+        movie.setTitle(data.getString("Title", ""));
+        // "2019–2021" for series: keep the first year
+        var y = data.getString("Year", "").replaceAll("\\D", "");
+        if (y.length() >= 4) movie.setYear(Integer.valueOf(y.substring(0, 4)));
+        movie.setGenre(truncate(data.getString("Genre", ""), 60));
+        var runtime = data.getString("Runtime", "").replaceAll("\\D", "");
+        if (!runtime.isEmpty()) movie.setRuntimeMin(Integer.valueOf(runtime));
+        movie.setPlotOneLine(data.getString("Plot", ""));
+        movie.setPosterUrl(truncate(data.getString("Poster", ""), 1000));
+        movie.setImdbId(data.getString("imdbID", ""));
+    }
+
+    private static String truncate(String s, int max) {
+        return s.length() <= max ? s : s.substring(0, max);
+    }
+
+    private JsonObject fetch(String param, String value, String key, String apiKey) {
+        JsonObject cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        JsonObject result = request(param, value, apiKey);
+        if (isFound(result)) {
+            cache.put(key, result, false);
+        } else if (NOT_FOUND.equals(result.getString("Error", ""))) {
+            cache.put(key, result, true);
+        }
+        // Other errors (invalid key, rate limit) are not cached
+        return result;
+    }
+
+    public OmdbCache getCache() {
+        return cache;
+    }
+
+    private JsonObject request(String param, String value, String apiKey) {
+        // The base URL may carry parameters of its own, e.g. a stub's ?v=1
+        String separator = api.getRawQuery() == null ? "?" : "&";
+        URI uri = URI.create(api + separator + param + "=" + encode(value) + "&apikey=" + encode(apiKey));
+        HttpRequest req = HttpRequest.newBuilder(uri)
+            .timeout(readTimeout)
+            .header("Accept", "application/json")
+            .GET()
+            .build();
+        try {
+            HttpResponse<String> resp = client.send(req, HttpResponse.BodyHandlers.ofString());
+            if (resp.statusCode() != 200) throw new RuntimeException("OMDb HTTP " + resp.statusCode());
+            try (JsonReader reader = Json.createReader(new StringReader(resp.body()))) {
+                return reader.readObject();
+            }
+        } catch (HttpTimeoutException e) {
+            throw new RuntimeException("OMDb did not answer within " + readTimeout.toMillis() + " ms", e);
+        } catch (IOException e) {
+            throw new RuntimeException("OMDb request failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("OMDb request interrupted", e);
+        }
+    }
+
+    private static String encode(String s) {
+        return URLEncoder.encode(s, StandardCharsets.UTF_8);
     }
 }
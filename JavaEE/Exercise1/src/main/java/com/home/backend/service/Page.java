@@ -0,0 +1,11 @@
+package com.home.backend.service;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated result.
+ * @param items Rows of this page, in query order
+ * @param nextCursor Opaque cursor for the following page, or null on the last page
+ */
+public record Page<T>(List<T> items, String nextCursor) {
+}
@@ -0,0 +1,85 @@
+package com.home.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Changes to an in-memory index, queued by committing threads and applied in
+ * batches on an executor. At most one batch is scheduled at a time, so a burst
+ * of changes costs one patch, and the committing thread only enqueues.
+ * <p>
+ * Batches are applied while holding the index's write monitor, which its
+ * rebuild holds too; a rebuild therefore never interleaves with a patch.
+ *
+ * @param <C> Type of one change
+ */
+final class PatchQueue<C> {
+
+    private final Object writeMonitor;
+    private final Consumer<List<C>> patch;
+    private final Logger log;
+    private final String failureMessage;
+    private final ConcurrentLinkedQueue<C> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * @param writeMonitor Monitor that serializes changes to the index
+     * @param patch Applies a batch of changes, oldest first, to the index
+     * @param log Where a failed patch is logged
+     * @param failureMessage Log message of a failed patch
+     */
+    PatchQueue(Object writeMonitor, Consumer<List<C>> patch, Logger log, String failureMessage) {
+        this.writeMonitor = writeMonitor;
+        this.patch = patch;
+        this.log = log;
+        this.failureMessage = failureMessage;
+    }
+
+    /**
+     * Queues a change and schedules a patch unless one is already scheduled.
+     * @param change The change
+     * @param executor Where the patch runs; if it rejects the task, the patch
+     *        runs on the calling thread
+     */
+    void add(C change, Executor executor) {
+        pending.add(change);
+        schedule(executor);
+    }
+
+    private void schedule(Executor executor) {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> applyPending(executor));
+            } catch (RuntimeException e) {
+                // Executor gone (shutdown): patch on the committing thread instead
+                applyPending(executor);
+            }
+        }
+    }
+
+    private void applyPending(Executor executor) {
+        try {
+            synchronized (writeMonitor) {
+                List<C> batch = new ArrayList<>();
+                for (C c; (c = pending.poll()) != null; ) {
+                    batch.add(c);
+                }
+                if (!batch.isEmpty()) {
+                    patch.accept(batch);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.log(Level.WARNING, failureMessage, e);
+        } finally {
+            scheduled.set(false);
+            // A change queued after the drain but before the flag was cleared found it still set
+            if (!pending.isEmpty()) schedule(executor);
+        }
+    }
+}
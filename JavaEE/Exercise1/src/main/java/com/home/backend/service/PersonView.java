@@ -0,0 +1,14 @@
+package com.home.backend.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Read model of a director or actor, as returned by the REST API.
+ * Loaded with JPQL constructor expressions, so no entity or back-reference is involved.
+ */
+public record PersonView(Long id, String firstName, String lastName, LocalDate birthDate) {
+
+    /** Names accepted by {@code ?fields=}; also the entity attribute names. */
+    public static final List<String> FIELDS = List.of("id", "firstName", "lastName", "birthDate");
+}
@@ -0,0 +1,44 @@
+package com.home.backend.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Token-bucket limiter that spaces out calls to a remote API.
+ * Callers reserve the next free slot under a short lock and then sleep outside
+ * of it, so waiting threads do not block each other.
+ */
+public class RateLimiter {
+
+    private final long intervalNanos;
+    private final long maxBurstNanos;
+    private long nextFree = System.nanoTime();
+
+    /**
+     * @param permitsPerSecond Sustained rate
+     * @param burst Number of permits that may be taken back-to-back after an idle period
+     */
+    public RateLimiter(double permitsPerSecond, int burst) {
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.maxBurstNanos = intervalNanos * Math.max(0, burst - 1);
+    }
+
+    /**
+     * Blocks until a permit is available.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        long wakeAt;
+        synchronized (this) {
+            long now = System.nanoTime();
+            // Unused time only accumulates up to the burst size
+            wakeAt = Math.max(nextFree, now - maxBurstNanos);
+            nextFree = wakeAt + intervalNanos;
+        }
+        long wait;
+        while ((wait = wakeAt - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(wait);
+            if (Thread.interrupted()) throw new InterruptedException();
+        }
+    }
+}
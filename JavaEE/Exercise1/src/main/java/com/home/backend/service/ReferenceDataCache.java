@@ -0,0 +1,110 @@
+package com.home.backend.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.home.backend.model.Actor;
+import com.home.backend.model.Director;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+
+/**
+ * Application-wide cache of the sorted director and actor lists used by the dropdowns.
+ * Readers get an immutable snapshot without locking. A committed change to either
+ * entity swaps in an empty snapshot and the next reader reloads the list once.
+ */
+@ApplicationScoped
+public class ReferenceDataCache {
+
+    @Inject
+    private DirectorService directorService;
+
+    @Inject
+    private ActorService actorService;
+
+    private final Slot<Director> directors = new Slot<>();
+    private final Slot<Actor> actors = new Slot<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @return All directors ordered by last name then first name; the list is shared and read-only
+     */
+    public List<Director> directors() {
+        return directors.get(directorService::findAll);
+    }
+
+    /**
+     * @return All actors ordered by last name then first name; the list is shared and read-only
+     */
+    public List<Actor> actors() {
+        return actors.get(actorService::findAll);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Drops the affected snapshot once a change has been committed.
+     * Rolled-back changes never reach here, so readers never see uncommitted rows.
+     */
+    void onEntityChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) EntityChangedEvent event) {
+        invalidate(event.entityType());
+    }
+
+    /**
+     * Drops the cached list of the given entity type, if it is one this cache holds.
+     */
+    public void invalidate(Class<?> entityType) {
+        if (entityType == Director.class) {
+            directors.invalidate();
+        } else if (entityType == Actor.class) {
+            actors.invalidate();
+        }
+    }
+
+    public void invalidateAll() {
+        directors.invalidate();
+        actors.invalidate();
+    }
+
+    /**
+     * Copy-on-write holder of one list. Each invalidation installs a new empty
+     * snapshot object, so a reload that started before it fails its CAS and can
+     * never publish stale data.
+     */
+    private final class Slot<T> {
+
+        private final AtomicReference<Snapshot<T>> current = new AtomicReference<>(new Snapshot<>(null));
+
+        List<T> get(Supplier<List<T>> loader) {
+            Snapshot<T> snapshot = current.get();
+            if (snapshot.items() != null) {
+                hits.increment();
+                return snapshot.items();
+            }
+            misses.increment();
+            List<T> loaded = List.copyOf(loader.get());
+            current.compareAndSet(snapshot, new Snapshot<>(loaded));
+            return loaded;
+        }
+
+        void invalidate() {
+            current.set(new Snapshot<>(null));
+        }
+    }
+
+    private record Snapshot<T>(List<T> items) {
+    }
+}
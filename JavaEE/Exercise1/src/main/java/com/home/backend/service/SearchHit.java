@@ -0,0 +1,7 @@
+package com.home.backend.service;
+
+/**
+ * One ranked result of a movie full-text search.
+ */
+public record SearchHit(long id, String title, int year, double score) {
+}
@@ -0,0 +1,30 @@
+package com.home.backend.service;
+
+import java.util.Locale;
+
+/**
+ * Reads tuning knobs from system properties, falling back to the matching
+ * environment variable (omdb.read-timeout-ms -> OMDB_READ_TIMEOUT_MS) so the
+ * same names work with WildFly CLI and docker-compose.
+ */
+public final class Settings {
+
+    private Settings() {
+    }
+
+    public static String get(String name, String defaultValue) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            value = System.getenv(name.toUpperCase(Locale.ROOT).replace('.', '_').replace('-', '_'));
+        }
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    public static long getLong(String name, long defaultValue) {
+        return Long.parseLong(get(name, String.valueOf(defaultValue)));
+    }
+
+    public static int getInt(String name, int defaultValue) {
+        return Integer.parseInt(get(name, String.valueOf(defaultValue)));
+    }
+}
@@ -0,0 +1,8 @@
+package com.home.backend.service;
+
+/**
+ * One entry of a movie's "similar movies" list.
+ * @param score Higher is more similar: 3 per shared actor, 2 for the same director, 1 per shared genre word
+ */
+public record SimilarMovie(Long id, String title, Integer year, int score) {
+}
@@ -0,0 +1,489 @@
+package com.home.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Immutable "similar movies" table: the top K movies for every movie, scored by
+ * shared actors, same director and shared genre words, plus the features and
+ * postings it was computed from.
+ * <p>
+ * Candidates of a movie are the movies reached through its actors' and its
+ * director's postings; genre overlap only adds to their score, and only fills
+ * up the list when there are fewer than K of them, so a common genre never
+ * makes every movie a candidate of every other. Results live in two flat arrays
+ * of K slots per movie. All movies are scored in parallel on a fork/join pool;
+ * {@link #withChanges} rescores only the movies sharing an actor or director
+ * with a changed one, listing one, or not having K entries yet, and copies
+ * every other row. The genre fill-up of a copied row is not rechecked, so a
+ * patched index can differ from a rebuild there.
+ */
+public final class SimilarityIndex {
+
+    static final int ACTOR_WEIGHT = 3;
+    static final int DIRECTOR_WEIGHT = 2;
+    static final int GENRE_WEIGHT = 1;
+
+    /** Movies per fork/join leaf. */
+    private static final int LEAF_SIZE = 64;
+
+    // Features, index = movie vertex
+    private final long[] ids;          // sorted
+    private final long[] directors;    // 0 when unknown
+    private final String[] genres;
+    private final int[] castStart;     // length movies + 1
+    private final long[] cast;         // actor ids, ascending within each movie
+
+    // Derived from the features
+    private final int[] tokenStart;
+    private final int[] tokens;        // genre word numbers, ascending within each movie
+    private final long[] genreBits;    // words 0-63 of each movie as a bit set
+    private final int[] directorSlot;  // posting of each movie's director, -1 when unknown
+    private final Postings byActor;
+    private final Postings byDirector;
+    private final Postings byToken;
+
+    // The table: K slots per movie, best first; score 0 marks an empty slot
+    private final int k;
+    private final long[] similar;
+    private final int[] scores;
+
+    private SimilarityIndex(long[] ids, long[] directors, String[] genres, int[] castStart, long[] cast, int k) {
+        this.ids = ids;
+        this.directors = directors;
+        this.genres = genres;
+        this.castStart = castStart;
+        this.cast = cast;
+        this.k = k;
+
+        // Genres repeat a lot, so each distinct text is tokenized once
+        Map<String, Integer> words = new HashMap<>();
+        Map<String, int[]> genreWords = new HashMap<>();
+        int movies = ids.length;
+        tokenStart = new int[movies + 1];
+        genreBits = new long[movies];
+        int[][] perMovie = new int[movies][];
+        for (int v = 0; v < movies; v++) {
+            perMovie[v] = genreWords.computeIfAbsent(genres[v] == null ? "" : genres[v],
+                g -> new TreeSet<>(Tokenizer.tokens(g)).stream()
+                    .mapToInt(w -> words.computeIfAbsent(w, x -> words.size()))
+                    .sorted().toArray());
+            tokenStart[v + 1] = tokenStart[v] + perMovie[v].length;
+            for (int word : perMovie[v]) {
+                if (word < 64) genreBits[v] |= 1L << word;
+            }
+        }
+        tokens = new int[tokenStart[movies]];
+        for (int v = 0; v < movies; v++) {
+            System.arraycopy(perMovie[v], 0, tokens, tokenStart[v], perMovie[v].length);
+        }
+
+        byActor = Postings.of(cast, castStart, movies);
+        long[] directorKeys = new long[movies];
+        int[] directorStart = new int[movies + 1];
+        int n = 0;
+        for (int v = 0; v < movies; v++) {
+            if (directors[v] != 0) directorKeys[n++] = directors[v];
+            directorStart[v + 1] = n;
+        }
+        byDirector = Postings.of(Arrays.copyOf(directorKeys, n), directorStart, movies);
+        directorSlot = new int[movies];
+        for (int v = 0; v < movies; v++) {
+            directorSlot[v] = directorStart[v] == directorStart[v + 1] ? -1 : byDirector.slots[directorStart[v]];
+        }
+        long[] tokenKeys = new long[tokens.length];
+        for (int i = 0; i < tokens.length; i++) tokenKeys[i] = tokens[i];
+        byToken = Postings.of(tokenKeys, tokenStart, movies);
+
+        similar = new long[movies * k];
+        scores = new int[movies * k];
+    }
+
+    /** An empty index whose rows have k slots. */
+    public static SimilarityIndex empty(int k) {
+        return new SimilarityIndex(new long[0], new long[0], new String[0], new int[1], new long[0], k);
+    }
+
+    /**
+     * Builds the index and scores every movie.
+     * @param ids Movie ids, ascending
+     * @param directors Director id of each movie, 0 when unknown
+     * @param genres Genre text of each movie, may be null
+     * @param linkMovies Movie id of each cast link, ascending
+     * @param linkActors Actor id of each cast link, ascending within a movie
+     * @param links Number of cast links used from the arrays
+     * @param k Similar movies kept per movie
+     * @param pool Pool to score on
+     * @return The index
+     */
+    public static SimilarityIndex of(long[] ids, long[] directors, String[] genres,
+                                     long[] linkMovies, long[] linkActors, int links, int k, ForkJoinPool pool) {
+        int[] castStart = new int[ids.length + 1];
+        long[] cast = new long[links];
+        int n = 0;
+        int link = 0;
+        for (int v = 0; v < ids.length; v++) {
+            while (link < links && linkMovies[link] < ids[v]) link++; // links of unknown movies
+            for (; link < links && linkMovies[link] == ids[v]; link++) cast[n++] = linkActors[link];
+            castStart[v + 1] = n;
+        }
+        SimilarityIndex index = new SimilarityIndex(ids, directors, genres, castStart, Arrays.copyOf(cast, n), k);
+        int[] all = new int[ids.length];
+        for (int v = 0; v < all.length; v++) all[v] = v;
+        index.score(all, pool);
+        return index;
+    }
+
+    /**
+     * Returns a new index with some movies added, replaced or removed; this one is unchanged.
+     * @param upserts Movie id to its new features; a null cast keeps the movie's current one
+     * @param removedMovies Movies to drop
+     * @param removedActors Actors to drop from every cast
+     * @param pool Pool to score on
+     * @return The patched index
+     */
+    public SimilarityIndex withChanges(SortedMap<Long, Features> upserts, Set<Long> removedMovies,
+                                       Set<Long> removedActors, ForkJoinPool pool) {
+        int capacity = ids.length + upserts.size();
+        long[] newIds = new long[capacity];
+        long[] newDirectors = new long[capacity];
+        String[] newGenres = new String[capacity];
+        int[] newCastStart = new int[capacity + 1];
+        int castCapacity = cast.length;
+        for (Features f : upserts.values()) castCapacity += f.cast() == null ? 0 : f.cast().length;
+        long[] newCast = new long[castCapacity];
+        int movies = 0;
+        int links = 0;
+
+        // Merge the existing movies with the changed ones, both in id order
+        int v = 0;
+        var changed = upserts.entrySet().iterator();
+        Map.Entry<Long, Features> change = changed.hasNext() ? changed.next() : null;
+        while (v < ids.length || change != null) {
+            boolean existing = change == null || (v < ids.length && ids[v] < change.getKey());
+            long id = existing ? ids[v] : change.getKey();
+            int old = existing || (v < ids.length && ids[v] == id) ? v++ : -1;
+            Features f = existing ? null : change.getValue();
+            if (!existing) change = changed.hasNext() ? changed.next() : null;
+            if (removedMovies.contains(id)) continue;
+
+            newIds[movies] = id;
+            newDirectors[movies] = f == null ? directors[old] : f.directorId();
+            newGenres[movies] = f == null ? genres[old] : f.genre();
+            if (f != null && f.cast() != null) {
+                for (long actor : f.cast()) {
+                    if (removedActors.isEmpty() || !removedActors.contains(actor)) newCast[links++] = actor;
+                }
+            } else if (old >= 0) {
+                for (int i = castStart[old]; i < castStart[old + 1]; i++) {
+                    if (removedActors.isEmpty() || !removedActors.contains(cast[i])) newCast[links++] = cast[i];
+                }
+            }
+            newCastStart[++movies] = links;
+        }
+        SimilarityIndex next = new SimilarityIndex(Arrays.copyOf(newIds, movies), Arrays.copyOf(newDirectors, movies),
+            Arrays.copyOf(newGenres, movies), Arrays.copyOf(newCastStart, movies + 1), Arrays.copyOf(newCast, links), k);
+
+        // Rows that can change: the changed movies and everything sharing an actor or director
+        // with them before or after the change
+        Set<Long> affected = new HashSet<>();
+        Set<Long> changedIds = new TreeSet<>(upserts.keySet());
+        changedIds.addAll(removedMovies);
+        for (long id : changedIds) {
+            affected.add(id);
+            neighbours(id, affected);
+            next.neighbours(id, affected);
+        }
+        for (long actor : removedActors) byActor.collect(actor, ids, affected);
+        // Also rows holding a changed movie as a genre match, and rows with a free slot it might fill.
+        // Full rows are deliberately not rescored for genre alone: a changed movie that would now win
+        // one of their genre-only fill-up slots is not found, so such a row can differ from a rebuild
+        // in those slots until one of its neighbours changes or the index is rebuilt.
+        long[] changedSorted = changedIds.stream().mapToLong(Long::longValue).toArray();
+        for (int row = 0; row < ids.length; row++) {
+            for (int i = row * k; i < (row + 1) * k; i++) {
+                if (scores[i] == 0 || Arrays.binarySearch(changedSorted, similar[i]) >= 0) {
+                    affected.add(ids[row]);
+                    break;
+                }
+            }
+        }
+
+        int[] rescore = new int[next.ids.length];
+        int n = 0;
+        int old = 0;
+        for (int u = 0; u < next.ids.length; u++) {
+            while (old < ids.length && ids[old] < next.ids[u]) old++;
+            if (old == ids.length || ids[old] != next.ids[u] || affected.contains(next.ids[u])) {
+                rescore[n++] = u;
+            } else {
+                System.arraycopy(similar, old * k, next.similar, u * k, k);
+                System.arraycopy(scores, old * k, next.scores, u * k, k);
+            }
+        }
+        next.score(Arrays.copyOf(rescore, n), pool);
+        return next;
+    }
+
+    /** Adds the ids of movies sharing an actor or the director with the given one. */
+    private void neighbours(long movieId, Set<Long> into) {
+        int v = Arrays.binarySearch(ids, movieId);
+        if (v < 0) return;
+        for (int i = castStart[v]; i < castStart[v + 1]; i++) byActor.collect(cast[i], ids, into);
+        if (directors[v] != 0) byDirector.collect(directors[v], ids, into);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * @param movieId Movie id
+     * @param limit Maximum number of results
+     * @return Most similar movies first, or null if the movie is not in the index
+     */
+    public List<Match> similar(long movieId, int limit) {
+        int v = Arrays.binarySearch(ids, movieId);
+        if (v < 0) return null;
+        List<Match> result = new ArrayList<>(Math.min(limit, k));
+        for (int i = v * k; i < v * k + Math.min(limit, k) && scores[i] > 0; i++) {
+            result.add(new Match(similar[i], scores[i]));
+        }
+        return result;
+    }
+
+    private void score(int[] vertices, ForkJoinPool pool) {
+        if (vertices.length == 0) return;
+        ConcurrentLinkedQueue<Scratch> scratches = new ConcurrentLinkedQueue<>();
+        pool.invoke(new ScoreTask(vertices, 0, vertices.length, scratches));
+    }
+
+    private final class ScoreTask extends RecursiveAction {
+        private final int[] vertices;
+        private final int from;
+        private final int to;
+        private final ConcurrentLinkedQueue<Scratch> scratches;
+
+        ScoreTask(int[] vertices, int from, int to, ConcurrentLinkedQueue<Scratch> scratches) {
+            this.vertices = vertices;
+            this.from = from;
+            this.to = to;
+            this.scratches = scratches;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_SIZE) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ScoreTask(vertices, from, mid, scratches), new ScoreTask(vertices, mid, to, scratches));
+                return;
+            }
+            Scratch s = scratches.poll();
+            if (s == null) s = new Scratch(ids.length, k);
+            try {
+                for (int i = from; i < to; i++) scoreRow(vertices[i], s);
+            } finally {
+                scratches.offer(s);
+            }
+        }
+    }
+
+    /** Scores one movie's candidates into its row; rows are disjoint, so tasks never share a slot. */
+    private void scoreRow(int v, Scratch s) {
+        int[] score = s.score;
+        int[] touched = s.touched;
+        int n = 0;
+        for (int i = castStart[v]; i < castStart[v + 1]; i++) {
+            int p = byActor.slots[i];
+            for (int j = byActor.start[p]; j < byActor.start[p + 1]; j++) {
+                int u = byActor.movies[j];
+                if (u == v) continue;
+                if (score[u] == 0) touched[n++] = u;
+                score[u] += ACTOR_WEIGHT;
+            }
+        }
+        if (directorSlot[v] >= 0) {
+            int p = directorSlot[v];
+            for (int j = byDirector.start[p]; j < byDirector.start[p + 1]; j++) {
+                int u = byDirector.movies[j];
+                if (u == v) continue;
+                if (score[u] == 0) touched[n++] = u;
+                score[u] += DIRECTOR_WEIGHT;
+            }
+        }
+        for (int i = 0; i < n; i++) score[touched[i]] += GENRE_WEIGHT * sharedTokens(v, touched[i]);
+        // Too few candidates: fill up with movies of the same genre, in id order
+        for (int t = tokenStart[v]; t < tokenStart[v + 1] && n < k; t++) {
+            int p = byToken.slots[t];
+            for (int j = byToken.start[p]; j < byToken.start[p + 1] && n < k; j++) {
+                int u = byToken.movies[j];
+                if (u == v || score[u] != 0) continue;
+                touched[n++] = u;
+                score[u] = GENRE_WEIGHT * sharedTokens(v, u);
+            }
+        }
+
+        // Top K as packed (score, inverted vertex), kept sorted descending
+        long[] best = s.best;
+        int kept = 0;
+        for (int i = 0; i < n; i++) {
+            int u = touched[i];
+            long packed = ((long) score[u] << 32) | (Integer.MAX_VALUE - u);
+            score[u] = 0;
+            if (kept == k && packed <= best[k - 1]) continue;
+            int j = kept < k ? kept++ : k - 1;
+            while (j > 0 && best[j - 1] < packed) {
+                best[j] = best[j - 1];
+                j--;
+            }
+            best[j] = packed;
+        }
+        int row = v * k;
+        for (int i = 0; i < k; i++) {
+            similar[row + i] = i < kept ? ids[Integer.MAX_VALUE - (int) best[i]] : 0;
+            scores[row + i] = i < kept ? (int) (best[i] >>> 32) : 0;
+        }
+    }
+
+    private int sharedTokens(int v, int u) {
+        int shared = Long.bitCount(genreBits[v] & genreBits[u]);
+        int vEnd = tokenStart[v + 1];
+        if (vEnd == tokenStart[v] || tokens[vEnd - 1] < 64) return shared;
+        // Rare words beyond the bit set: merge the sorted lists from there
+        int i = tokenStart[v];
+        int j = tokenStart[u];
+        while (i < vEnd && tokens[i] < 64) i++;
+        while (j < tokenStart[u + 1] && tokens[j] < 64) j++;
+        for (; i < vEnd && j < tokenStart[u + 1]; ) {
+            if (tokens[i] < tokens[j]) i++;
+            else if (tokens[i] > tokens[j]) j++;
+            else {
+                shared++;
+                i++;
+                j++;
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * What a movie is compared by.
+     * @param directorId Director id, 0 when unknown
+     * @param genre Genre text, may be null
+     * @param cast Actor ids ascending, or null to keep the cast the index has
+     */
+    public record Features(long directorId, String genre, long[] cast) {
+    }
+
+    /**
+     * @param movieId Similar movie's id
+     * @param score Higher is more similar
+     */
+    public record Match(long movieId, int score) {
+    }
+
+    /** Movie vertices per key (actor, director or genre word), in CSR form. */
+    private static final class Postings {
+        final long[] keys;     // sorted
+        final int[] start;     // length keys + 1
+        final int[] movies;    // ascending within each key
+        final int[] slots;     // position in keys of each value the postings were built from
+
+        private Postings(long[] keys, int[] start, int[] movies, int[] slots) {
+            this.keys = keys;
+            this.start = start;
+            this.movies = movies;
+            this.slots = slots;
+        }
+
+        /**
+         * @param values Keys of all movies, grouped by movie and ascending within one
+         * @param valueStart Movie vertex to its first key in values, length movies + 1
+         */
+        static Postings of(long[] values, int[] valueStart, int movies) {
+            int n = values.length;
+            boolean packable = true;
+            for (long value : values) packable &= value >= 0 && value <= Integer.MAX_VALUE;
+            if (!packable) {
+                return ofWide(values, valueStart, movies);
+            }
+            // One sort of (key, vertex) pairs packed into longs gives keys and postings together
+            long[] pairs = new long[n];
+            for (int v = 0; v < movies; v++) {
+                for (int i = valueStart[v]; i < valueStart[v + 1]; i++) pairs[i] = values[i] << 32 | v;
+            }
+            Arrays.sort(pairs);
+            long[] keys = new long[n];
+            int[] start = new int[n + 1];
+            int[] list = new int[n];
+            int[] slots = new int[n];
+            int[] cursor = valueStart.clone();
+            int distinct = 0;
+            for (int j = 0; j < n; j++) {
+                long key = pairs[j] >>> 32;
+                if (distinct == 0 || keys[distinct - 1] != key) {
+                    keys[distinct] = key;
+                    start[distinct++] = j;
+                }
+                int v = (int) pairs[j];
+                list[j] = v;
+                // A movie's keys come out in the same ascending order as its values
+                slots[cursor[v]++] = distinct - 1;
+            }
+            start[distinct] = n;
+            return new Postings(Arrays.copyOf(keys, distinct), Arrays.copyOf(start, distinct + 1), list, slots);
+        }
+
+        /** Keys beyond 31 bits: sort the keys alone and place each value by binary search. */
+        private static Postings ofWide(long[] values, int[] valueStart, int movies) {
+            long[] keys = values.clone();
+            Arrays.sort(keys);
+            int distinct = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (distinct == 0 || keys[i] != keys[distinct - 1]) keys[distinct++] = keys[i];
+            }
+            keys = Arrays.copyOf(keys, distinct);
+            int[] start = new int[distinct + 1];
+            int[] slots = new int[values.length];
+            for (int i = 0; i < values.length; i++) {
+                slots[i] = Arrays.binarySearch(keys, values[i]);
+                start[slots[i] + 1]++;
+            }
+            for (int i = 0; i < distinct; i++) start[i + 1] += start[i];
+            int[] next = Arrays.copyOf(start, distinct);
+            int[] list = new int[values.length];
+            for (int v = 0; v < movies; v++) {
+                for (int i = valueStart[v]; i < valueStart[v + 1]; i++) list[next[slots[i]]++] = v;
+            }
+            return new Postings(keys, start, list, slots);
+        }
+
+        void collect(long key, long[] ids, Set<Long> into) {
+            int p = Arrays.binarySearch(keys, key);
+            if (p < 0) return;
+            for (int j = start[p]; j < start[p + 1]; j++) into.add(ids[movies[j]]);
+        }
+    }
+
+    private static final class Scratch {
+        final int[] score;
+        final int[] touched;
+        final long[] best;
+
+        Scratch(int movies, int k) {
+            score = new int[movies];
+            touched = new int[movies];
+            best = new long[k];
+        }
+    }
+}
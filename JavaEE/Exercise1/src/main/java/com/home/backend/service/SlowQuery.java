@@ -0,0 +1,32 @@
+package com.home.backend.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One entry of the slow-query log.
+ * @param origin Service method that ran the query, e.g. MovieService.findByYear
+ * @param jpql The JPQL query
+ * @param sql SQL statements Hibernate prepared while executing it
+ * @param binds Parameter values by name (long collections are abbreviated)
+ * @param rows Rows returned
+ * @param durationMs Wall time of the execution, including loading the results
+ * @param recordedAt When the query finished
+ * @param plan Database EXPLAIN output, or null when not requested or not available
+ */
+public record SlowQuery(
+    String origin,
+    String jpql,
+    List<String> sql,
+    Map<String, String> binds,
+    int rows,
+    double durationMs,
+    Instant recordedAt,
+    String plan
+) {
+
+    SlowQuery withPlan(String plan) {
+        return new SlowQuery(origin, jpql, sql, binds, rows, durationMs, recordedAt, plan);
+    }
+}
@@ -0,0 +1,236 @@
+package com.home.backend.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.hibernate.query.Query;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.Parameter;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Times the JPQL queries run by the services and keeps the slowest ones
+ * (above {@code slow-query.threshold-ms}) in a bounded buffer of
+ * {@code slow-query.capacity} entries, together with their SQL, bind values
+ * and row count. Fast queries cost two nanoTime calls and a compare; the
+ * buffer is only locked when a query is slow enough to enter it.
+ */
+@ApplicationScoped
+public class SlowQueryLog {
+
+    private static final Pattern NAMED_PARAMETER = Pattern.compile(":(\\w+)");
+    private static final int MAX_BIND_LENGTH = 200;
+
+    private final long thresholdNanos =
+        TimeUnit.MILLISECONDS.toNanos(Settings.getLong("slow-query.threshold-ms", 50));
+    private final Entry[] slowest = new Entry[Math.max(1, Settings.getInt("slow-query.capacity", 50))];
+    private int size;
+    /** Queries faster than this cannot enter the buffer; rises once the buffer is full. */
+    private volatile long floorNanos = thresholdNanos;
+
+    /**
+     * Runs the query's getResultList, recording it if it is slow.
+     */
+    public <R> List<R> list(TypedQuery<R> query) {
+        return run(query, query::getResultList, List::size);
+    }
+
+    /**
+     * Runs the query's getSingleResult, recording it if it is slow.
+     */
+    public <R> R single(TypedQuery<R> query) {
+        return run(query, query::getSingleResult, r -> 1);
+    }
+
+    private <R> R run(TypedQuery<?> query, Supplier<R> execution, ToIntFunction<R> rowCount) {
+        List<String> outer = SqlCapture.begin();
+        long start = System.nanoTime();
+        R result = null;
+        try {
+            result = execution.get();
+            return result;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            List<String> sql = SqlCapture.end(outer);
+            if (nanos >= floorNanos) {
+                record(query, sql, result == null ? 0 : rowCount.applyAsInt(result), nanos);
+            }
+        }
+    }
+
+    private void record(TypedQuery<?> query, List<String> sql, int rows, long nanos) {
+        String jpql = jpql(query);
+        Map<String, String> binds = new LinkedHashMap<>();
+        for (Parameter<?> p : query.getParameters()) {
+            if (p.getName() != null && query.isBound(p)) {
+                binds.put(p.getName(), abbreviate(query.getParameterValue(p)));
+            }
+        }
+        SlowQuery entry = new SlowQuery(origin(), jpql, List.copyOf(sql), binds, rows,
+            nanos / 1e6, Instant.now(), null);
+        String explainable = sql.size() == 1 ? inline(sql.get(0), jpql, query) : null;
+        add(new Entry(entry, explainable, nanos));
+    }
+
+    private synchronized void add(Entry entry) {
+        if (size < slowest.length) {
+            slowest[size++] = entry;
+        } else {
+            int fastest = fastestIndex();
+            if (slowest[fastest].nanos >= entry.nanos) {
+                return;
+            }
+            slowest[fastest] = entry;
+        }
+        if (size == slowest.length) {
+            floorNanos = Math.max(thresholdNanos, slowest[fastestIndex()].nanos);
+        }
+    }
+
+    private int fastestIndex() {
+        int fastest = 0;
+        for (int i = 1; i < size; i++) {
+            if (slowest[i].nanos < slowest[fastest].nanos) fastest = i;
+        }
+        return fastest;
+    }
+
+    /**
+     * @return Recorded queries, slowest first
+     */
+    public synchronized List<SlowQuery> entries() {
+        return Arrays.stream(slowest, 0, size)
+            .sorted(Comparator.comparingLong((Entry e) -> e.nanos).reversed())
+            .map(e -> e.query)
+            .toList();
+    }
+
+    /**
+     * @return Entries that have no plan yet but whose SQL could be made explainable, keyed by that SQL
+     */
+    synchronized Map<SlowQuery, String> explainable() {
+        Map<SlowQuery, String> pending = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            if (slowest[i].query.plan() == null && slowest[i].explainableSql != null) {
+                pending.put(slowest[i].query, slowest[i].explainableSql);
+            }
+        }
+        return pending;
+    }
+
+    /** Stores the plan on the entry, unless it has been replaced in the meantime. */
+    synchronized void attachPlan(SlowQuery query, String plan) {
+        for (int i = 0; i < size; i++) {
+            if (slowest[i].query == query) {
+                slowest[i] = new Entry(query.withPlan(plan), slowest[i].explainableSql, slowest[i].nanos);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(slowest, null);
+        size = 0;
+        floorNanos = thresholdNanos;
+    }
+
+    private static String jpql(TypedQuery<?> query) {
+        try {
+            return query.unwrap(Query.class).getQueryString();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /** First frame outside this class, e.g. MovieService.findByYear. Only walked for slow queries. */
+    private static String origin() {
+        return StackWalker.getInstance().walk(frames -> frames
+            .filter(f -> !f.getClassName().equals(SlowQueryLog.class.getName()))
+            .findFirst()
+            .map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1) + "." + f.getMethodName())
+            .orElse("unknown"));
+    }
+
+    private static String abbreviate(Object value) {
+        if (value instanceof Collection<?> values && values.size() > 20) {
+            return values.stream().limit(20).map(String::valueOf).toList()
+                + " ... (" + values.size() + " values)";
+        }
+        String text = String.valueOf(value);
+        return text.length() > MAX_BIND_LENGTH ? text.substring(0, MAX_BIND_LENGTH) + "..." : text;
+    }
+
+    /**
+     * Rebuilds the statement with its values inlined so the database can EXPLAIN it.
+     * Hibernate binds the JPQL parameters in the order they appear (collections
+     * expanded and padded to a power of two by repeating the last element), then
+     * OFFSET and LIMIT; if the placeholder count does not match that, the mapping
+     * is unknown and null is returned.
+     */
+    static String inline(String sql, String jpql, TypedQuery<?> query) {
+        if (jpql == null) {
+            return null;
+        }
+        List<Object> values = new ArrayList<>();
+        Matcher m = NAMED_PARAMETER.matcher(jpql);
+        while (m.find()) {
+            Object value = query.getParameterValue(m.group(1));
+            if (value instanceof Collection<?> c) addPadded(values, c); else values.add(value);
+        }
+        if (query.getFirstResult() > 0) values.add(query.getFirstResult());
+        if (query.getMaxResults() != Integer.MAX_VALUE) values.add(query.getMaxResults());
+
+        StringBuilder out = new StringBuilder(sql.length() + values.size() * 8);
+        int next = 0;
+        boolean quoted = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') quoted = !quoted;
+            if (c == '?' && !quoted) {
+                String literal = next < values.size() ? literal(values.get(next++)) : null;
+                if (literal == null) return null;
+                out.append(literal);
+            } else {
+                out.append(c);
+            }
+        }
+        return next == values.size() ? out.toString() : null;
+    }
+
+    /** Mirrors hibernate.query.in_clause_parameter_padding, see persistence.xml. */
+    private static void addPadded(List<Object> values, Collection<?> collection) {
+        values.addAll(collection);
+        if (collection.isEmpty()) {
+            return;
+        }
+        Object last = values.get(values.size() - 1);
+        int padded = Integer.highestOneBit(collection.size() - 1) << 1;
+        for (int i = collection.size(); i < padded; i++) {
+            values.add(last);
+        }
+    }
+
+    /** SQL literal for a basic value, or null for entities and other types that can't be inlined. */
+    private static String literal(Object value) {
+        if (value == null) return "NULL";
+        if (value instanceof Number || value instanceof Boolean) return value.toString();
+        if (value instanceof LocalDate) return "DATE '" + value + "'";
+        if (value instanceof String || value instanceof Enum<?>) return "'" + value.toString().replace("'", "''") + "'";
+        return null;
+    }
+
+    private record Entry(SlowQuery query, String explainableSql, long nanos) {
+    }
+}
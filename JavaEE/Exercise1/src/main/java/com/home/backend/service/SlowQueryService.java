@@ -0,0 +1,63 @@
+package com.home.backend.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Reads the slow-query log and fills in database plans on request.
+ */
+@Stateless
+public class SlowQueryService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Inject
+    private SlowQueryLog log;
+
+    /**
+     * Lists the recorded slow queries.
+     * @param explain When true, runs EXPLAIN for entries that have no plan yet
+     * @return Slow queries, slowest first
+     */
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public List<SlowQuery> list(boolean explain) {
+        if (explain) {
+            for (Map.Entry<SlowQuery, String> pending : log.explainable().entrySet()) {
+                log.attachPlan(pending.getKey(), explain(pending.getValue()));
+            }
+        }
+        return log.entries();
+    }
+
+    public void clear() {
+        log.clear();
+    }
+
+    /**
+     * Runs EXPLAIN outside of any transaction, so a statement the database
+     * rejects cannot roll anything back.
+     */
+    private String explain(String sql) {
+        try {
+            List<?> rows = entityManager.createNativeQuery("EXPLAIN " + sql).getResultList();
+            return rows.stream()
+                .map(row -> row instanceof Object[] columns
+                    ? Arrays.stream(columns).map(String::valueOf).collect(Collectors.joining(" | "))
+                    : String.valueOf(row))
+                .collect(Collectors.joining("\n"));
+        } catch (PersistenceException e) {
+            return "EXPLAIN failed: " + e.getMessage();
+        }
+    }
+}
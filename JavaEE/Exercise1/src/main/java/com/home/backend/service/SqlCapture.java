@@ -0,0 +1,50 @@
+package com.home.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector (registered in persistence.xml) that hands the
+ * SQL of the statements prepared on the current thread to {@link SlowQueryLog}
+ * while it is timing a query. Outside of that it only does a ThreadLocal read.
+ */
+public class SqlCapture implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> captured = CAPTURED.get();
+        if (captured != null) {
+            captured.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Starts capturing on this thread.
+     * @return The enclosing capture, to hand back to {@link #end(List)}
+     */
+    static List<String> begin() {
+        List<String> outer = CAPTURED.get();
+        CAPTURED.set(new ArrayList<>(2));
+        return outer;
+    }
+
+    /**
+     * Stops capturing and restores the enclosing capture, if any.
+     * @return SQL prepared since {@link #begin()}
+     */
+    static List<String> end(List<String> outer) {
+        List<String> captured = CAPTURED.get();
+        if (outer == null) {
+            CAPTURED.remove();
+        } else {
+            outer.addAll(captured);
+            CAPTURED.set(outer);
+        }
+        return captured;
+    }
+}
@@ -0,0 +1,41 @@
+package com.home.backend.service;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+/**
+ * Times calls to {@link Timed} beans. A method counts as failed when it throws.
+ */
+@Timed
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION)
+public class TimedInterceptor {
+
+    @Inject
+    private MetricsRegistry metrics;
+
+    @AroundInvoke
+    public Object time(InvocationContext context) throws Exception {
+        Method method = context.getMethod();
+        // Observer and other container callbacks are package-private; only time the API
+        if (!Modifier.isPublic(method.getModifiers())) {
+            return context.proceed();
+        }
+        LatencyHistogram histogram = metrics.serviceMethod(context.getTarget().getClass(), method);
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = context.proceed();
+            failed = false;
+            return result;
+        } finally {
+            histogram.record(System.nanoTime() - start, failed);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.home.backend.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits free text into lower-case, accent-free search terms.
+ */
+public final class Tokenizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "as", "at", "by", "for", "in", "is", "of", "on", "or", "the", "to", "with");
+
+    private Tokenizer() {
+    }
+
+    /**
+     * Normalizes text for matching: strips accents and lower-cases it.
+     */
+    public static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param text Text to tokenize; null yields no tokens
+     * @return Terms in order of appearance, repeats included, stop words and single letters removed
+     */
+    public static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) return tokens;
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean word = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                String token = folded.substring(start, i);
+                // Single letters ("s" of "physicist's") carry no meaning; single digits may
+                boolean noise = token.length() == 1 && !Character.isDigit(token.charAt(0));
+                if (!noise && !STOP_WORDS.contains(token)) tokens.add(token);
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,64 @@
+package com.home.backend.service;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * The application's executor for blocking work: one virtual thread per task on
+ * Java 21+, so tasks that wait on JDBC or HTTP cost no pooled thread. On older
+ * JVMs tasks go to the container's managed executor, a bounded pool shared with
+ * everything else, which callers have to keep in mind (see {@link #isVirtual()}).
+ */
+@ApplicationScoped
+public class VirtualThreads {
+
+    private static final Logger LOG = Logger.getLogger(VirtualThreads.class.getName());
+
+    @Resource
+    private ManagedExecutorService managedExecutor;
+
+    private ExecutorService virtualThreads;
+
+    @PostConstruct
+    void init() {
+        try {
+            // Looked up reflectively so the war still builds and runs on Java 17
+            virtualThreads = (ExecutorService) MethodHandles.publicLookup()
+                .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class))
+                .invoke();
+        } catch (Throwable e) {
+            LOG.info("Virtual threads not available; blocking work uses the managed executor");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (virtualThreads != null) {
+            virtualThreads.shutdown();
+        }
+    }
+
+    /**
+     * @return Virtual-thread executor, or the managed executor if there are no virtual threads
+     */
+    public Executor executor() {
+        return virtualThreads != null ? virtualThreads : managedExecutor;
+    }
+
+    /**
+     * @return false if {@link #executor()} is the shared, bounded managed pool
+     */
+    public boolean isVirtual() {
+        return virtualThreads != null;
+    }
+}
@@ -1,18 +1,28 @@
 package com.home.backend.web;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletionStage;
 
-import com.home.backend.model.Actor;
+import com.home.backend.service.ActorGraph;
+import com.home.backend.service.ActorLookupBatcher;
+import com.home.backend.service.ActorPathView;
 import com.home.backend.service.ActorService;
+import com.home.backend.service.FieldSelection;
+import com.home.backend.service.NameSuggestions;
+import com.home.backend.service.PersonView;
 
 import jakarta.inject.Inject;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
@@ -25,18 +35,54 @@ import jakarta.ws.rs.core.Response;
 @Consumes(MediaType.APPLICATION_JSON)
 public class ActorResource {
 
+    private static final int DEFAULT_COSTARS = 20;
+    private static final int MAX_COSTARS = 500;
+    private static final int MAX_SUGGESTIONS = 50;
+
     @Inject
     private ActorService actorService;
 
+    @Inject
+    private ActorLookupBatcher actorLookups;
+
+    @Inject
+    private BlockingCallExecutor blockingCalls;
+
+    @Inject
+    private NameSuggestions nameSuggestions;
+
+    @Inject
+    private ActorGraph actorGraph;
+
+    @Inject
+    private ConditionalGet conditionalGet;
+
     /**
      * Retrieves all actors.
-     * @return Response with list of actors or error
+     * @param fields Comma-separated fields to return, or null for all
+     * @param ifNoneMatch ETags the client already has
+     * @return Response with list of actors, 304 if unchanged, or error
      */
     @GET
-    public Response getAllActors() {
+    @Precompressed
+    public Response getAllActors(@QueryParam("fields") String fields,
+                                 @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
         try {
-            List<Actor> actors = actorService.findAll();
-            return Response.ok(actors).build();
+            EntityTag tag = conditionalGet.catalogTag();
+            Response notModified = conditionalGet.notModified(ifNoneMatch, tag);
+            if (notModified != null) {
+                return notModified;
+            }
+            FieldSelection selection = FieldSelection.parse(fields, PersonView.FIELDS);
+            if (selection != null) {
+                return conditionalGet.ok(actorService.findAllFields(selection), tag);
+            }
+            List<PersonView> actors = actorService.findAllViews();
+            return conditionalGet.ok(actors, tag);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(e.getMessage())
+                .build();
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                 .entity("Error retrieving actors: " + e.getMessage())
@@ -44,20 +90,47 @@ public class ActorResource {
         }
     }
 
+    /**
+     * Suggests actors whose name starts with the typed text; answered from memory.
+     * @param prefix Start of a "first last" or "last, first" name
+     * @param limit Maximum number of actors (1-50, default 10)
+     * @return Response with matching actors in name order, or error
+     */
+    @GET
+    @Path("/suggest")
+    public Response suggestActors(@QueryParam("prefix") String prefix,
+                                  @QueryParam("limit") @DefaultValue("10") int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity("Query parameter prefix is required")
+                .build();
+        }
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity("limit must be between 1 and " + MAX_SUGGESTIONS)
+                .build();
+        }
+        return Response.ok(nameSuggestions.suggestActors(prefix, limit)).build();
+    }
+
     /**
      * Retrieves actors by their IDs.
      * @param idsParam Comma-separated list of actor IDs
-     * @return Response with list of actors or error
+     * @param ifNoneMatch ETags the client already has
+     * @return Response with list of actors, 304 if unchanged, or error
      */
     @GET
     @Path("/{ids}")
-    public Response getActorsByIds(@PathParam("ids") String idsParam) {
+    public Response getActorsByIds(@PathParam("ids") String idsParam,
+                                   @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
         try {
-            List<Long> actorIds = Arrays.stream(idsParam.split(","))
-                .map(String::trim)
-                .filter(s -> !s.isEmpty())
-                .map(Long::parseLong)
-                .collect(Collectors.toList());
+            // Tagged with the catalog: the version is in memory, several actors' would take a query
+            EntityTag tag = conditionalGet.catalogTag();
+            Response notModified = conditionalGet.notModified(ifNoneMatch, tag);
+            if (notModified != null) {
+                return notModified;
+            }
+            List<Long> actorIds = parseIds(idsParam);
 
             if (actorIds.isEmpty()) {
                 return Response.status(Response.Status.BAD_REQUEST)
@@ -65,8 +138,9 @@ public class ActorResource {
                     .build();
             }
 
-            List<Actor> actors = actorService.findByIds(actorIds);
-            return Response.ok(actors).build();
+            // Shares one query with other lookups arriving at the same time
+            List<PersonView> actors = actorLookups.findViewsByIds(actorIds);
+            return conditionalGet.ok(actors, tag);
         } catch (NumberFormatException e) {
             return Response.status(Response.Status.BAD_REQUEST)
                 .entity("Invalid actor ID format. Use comma-separated numbers.")
@@ -77,4 +151,124 @@ public class ActorResource {
                 .build();
         }
     }
+
+    /**
+     * Retrieves the actors who appeared in a movie with the given one.
+     * @param id Actor ID
+     * @param limit Maximum number of co-stars (1-500, default 20)
+     * @return Response with co-stars, most shared movies first, or error
+     */
+    @GET
+    @Path("/{id}/costars")
+    public Response getCostars(@PathParam("id") Long id, @QueryParam("limit") Integer limit) {
+        try {
+            int max = limit == null ? DEFAULT_COSTARS : limit;
+            if (max < 1 || max > MAX_COSTARS) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("limit must be between 1 and " + MAX_COSTARS)
+                    .build();
+            }
+            if (actorLookups.findViewsByIds(List.of(id)).isEmpty()) {
+                return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Actor not found with ID: " + id)
+                    .build();
+            }
+            return Response.ok(actorGraph.costars(id, max)).build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity("Error retrieving co-stars: " + e.getMessage())
+                .build();
+        }
+    }
+
+    /**
+     * Retrieves the shortest chain of shared movies between two actors.
+     * @param from Start actor ID
+     * @param to End actor ID
+     * @return Response with degrees of separation, actors and movies, or error
+     */
+    @GET
+    @Path("/{from}/path/{to}")
+    public Response getPath(@PathParam("from") Long from, @PathParam("to") Long to) {
+        try {
+            if (actorLookups.findViewsByIds(List.of(from, to)).size() < (from.equals(to) ? 1 : 2)) {
+                return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Actor not found with ID: " + from + " or " + to)
+                    .build();
+            }
+            ActorPathView path = actorGraph.path(from, to);
+            if (path == null) {
+                return Response.status(Response.Status.NOT_FOUND)
+                    .entity("No chain of movies connects actors " + from + " and " + to)
+                    .build();
+            }
+            return Response.ok(path).build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity("Error finding path: " + e.getMessage())
+                .build();
+        }
+    }
+
+    /**
+     * Parses "1, 2,3" in one pass over the characters, without the substrings,
+     * array and stream of a split. Empty items are skipped.
+     * @throws NumberFormatException For anything but digits, commas and spaces, or an id beyond long
+     */
+    static List<Long> parseIds(String idsParam) {
+        List<Long> ids = new ArrayList<>(idsParam.length() / 4 + 1);
+        long value = 0;
+        boolean inNumber = false;
+        boolean ended = false; // spaces after the digits of the current item
+        for (int i = 0; i <= idsParam.length(); i++) {
+            char c = i < idsParam.length() ? idsParam.charAt(i) : ',';
+            if (c >= '0' && c <= '9') {
+                int digit = c - '0';
+                if (ended || value > (Long.MAX_VALUE - digit) / 10) {
+                    throw new NumberFormatException(idsParam);
+                }
+                value = value * 10 + digit;
+                inNumber = true;
+            } else if (c == ',') {
+                if (inNumber) {
+                    ids.add(value);
+                }
+                value = 0;
+                inNumber = false;
+                ended = false;
+            } else if (Character.isWhitespace(c)) {
+                ended = inNumber;
+            } else {
+                throw new NumberFormatException(idsParam);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Async variant of {@link #getAllActors(String, String)}; the query runs on a virtual thread.
+     * @param fields Comma-separated fields to return, or null for all
+     * @param ifNoneMatch ETags the client already has
+     * @return Stage completed with the same response
+     */
+    @GET
+    @Precompressed
+    @Path("/async")
+    public CompletionStage<Response> getAllActorsAsync(@QueryParam("fields") String fields,
+                                                       @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        return blockingCalls.submit(() -> getAllActors(fields, ifNoneMatch));
+    }
+
+    /**
+     * Async variant of {@link #getActorsByIds(String, String)}; the query runs on a virtual thread.
+     * @param idsParam Comma-separated list of actor IDs
+     * @param ifNoneMatch ETags the client already has
+     * @return Stage completed with the same response
+     */
+    @GET
+    @Path("/async/{ids}")
+    public CompletionStage<Response> getActorsByIdsAsync(@PathParam("ids") String idsParam,
+                                                         @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        return blockingCalls.submit(() -> getActorsByIds(idsParam, ifNoneMatch));
+    }
 }
@@ -0,0 +1,77 @@
+package com.home.backend.web;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.home.backend.service.Settings;
+import com.home.backend.service.VirtualThreads;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Runs the blocking (JDBC) part of async REST requests off the container's
+ * worker threads, one virtual thread per request on Java 21+.
+ * <p>
+ * At most async.max-concurrency (default 20, the datasource pool size) calls
+ * run at once; the rest park their virtual thread, which costs almost nothing,
+ * instead of all piling onto the connection pool and failing with its blocking
+ * timeout. Calls that cannot start within async.queue-timeout-ms get 503.
+ * On older JVMs the container's managed executor is used instead, see {@link VirtualThreads}.
+ */
+@ApplicationScoped
+public class BlockingCallExecutor {
+
+    @Inject
+    private VirtualThreads virtualThreads;
+
+    private Semaphore permits;
+    private long queueTimeoutMs;
+
+    @PostConstruct
+    void init() {
+        permits = new Semaphore(Settings.getInt("async.max-concurrency", 20));
+        queueTimeoutMs = Settings.getLong("async.queue-timeout-ms", 5000);
+    }
+
+    /**
+     * Runs the call asynchronously.
+     * @param call Produces the response; may block on the database
+     * @return Stage completed with the call's response, or 503 when the server is saturated
+     */
+    public CompletionStage<Response> submit(Supplier<Response> call) {
+        try {
+            return CompletableFuture.supplyAsync(() -> runBounded(call), virtualThreads.executor());
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(busy());
+        }
+    }
+
+    private Response runBounded(Supplier<Response> call) {
+        try {
+            if (!permits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return busy();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return busy();
+        }
+        try {
+            return call.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static Response busy() {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+            .entity("Server busy, retry later")
+            .build();
+    }
+}
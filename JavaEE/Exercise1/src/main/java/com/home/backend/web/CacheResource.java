@@ -0,0 +1,65 @@
+package com.home.backend.web;
+
+import com.home.backend.service.CacheService;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * REST resource for inspecting and invalidating the server-side caches.
+ */
+@Path("/cache")
+@Produces(MediaType.APPLICATION_JSON)
+public class CacheResource {
+
+    @Inject
+    private CacheService cacheService;
+
+    /**
+     * Returns cache hit/miss counters and database round-trip counts.
+     * @param reset When true, counters are cleared after being read
+     * @return Response with the counters
+     */
+    @GET
+    public Response getStats(@QueryParam("reset") boolean reset) {
+        var stats = cacheService.stats();
+        if (reset) {
+            cacheService.resetStats();
+        }
+        return Response.ok(stats).build();
+    }
+
+    /**
+     * Evicts all cached entities, collections, queries and reference lists.
+     * @return 204 No Content
+     */
+    @DELETE
+    public Response evictAll() {
+        cacheService.evictAll();
+        return Response.noContent().build();
+    }
+
+    /**
+     * Evicts one entity type, or one instance when an id is given.
+     * @param entity movies, directors or actors
+     * @param id Optional entity id
+     * @return 204 No Content, or 400 for an unknown entity
+     */
+    @DELETE
+    @Path("/{entity}")
+    public Response evict(@PathParam("entity") String entity, @QueryParam("id") Long id) {
+        if (!cacheService.evict(entity, id)) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity("Unknown cache entity: " + entity + ". Use movies, directors or actors.")
+                .build();
+        }
+        return Response.noContent().build();
+    }
+}
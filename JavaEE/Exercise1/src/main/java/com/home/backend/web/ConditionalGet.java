@@ -0,0 +1,135 @@
+package com.home.backend.web;
+
+import com.home.backend.service.CatalogVersion;
+import com.home.backend.service.Settings;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Strong ETags and Cache-Control for GET responses, and the If-None-Match check
+ * that answers 304 before a resource loads or serializes anything.
+ * <p>
+ * Lists are tagged with the {@link CatalogVersion}, prefixed with this server's
+ * start time since that counter starts over at 0; single entities are tagged with
+ * their {@code @Version} columns. A body compressed by {@link ResponseCompression}
+ * differs byte for byte from the plain one, so its tag gets the coding appended
+ * ("-gzip", "-deflate"), and the check accepts either form.
+ */
+@ApplicationScoped
+public class ConditionalGet {
+
+    @Inject
+    private CatalogVersion catalogVersion;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final CacheControl cacheControl = cacheControl(Settings.getInt("http.max-age-seconds", 0));
+
+    /**
+     * @return Tag of anything derived from the whole catalog, as of now
+     */
+    public EntityTag catalogTag() {
+        return catalogTag(catalogVersion.current());
+    }
+
+    /**
+     * @param version A {@link CatalogVersion} value seen earlier
+     * @return Tag of anything derived from the catalog at that version
+     */
+    public EntityTag catalogTag(long version) {
+        return new EntityTag("c" + epoch + "-" + version);
+    }
+
+    /**
+     * @param kind Short name of the entity type
+     * @param id Entity id
+     * @param version Version of everything the representation is built from
+     * @return Tag of one entity's representation
+     */
+    public EntityTag entityTag(String kind, Long id, String version) {
+        return new EntityTag(kind + id + "-" + version);
+    }
+
+    /**
+     * @param ifNoneMatch The request's If-None-Match header, may be null
+     * @param tag Current tag of the requested representation
+     * @return 304 response if the client already has it, otherwise null
+     */
+    public Response notModified(String ifNoneMatch, EntityTag tag) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.strip();
+            if (value.equals("*")) {
+                return Response.notModified(tag).cacheControl(cacheControl).build();
+            }
+            if (value.startsWith("W/")) {
+                // If-None-Match compares weakly
+                value = value.substring(2);
+            }
+            if (value.length() < 2 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') {
+                continue;
+            }
+            value = value.substring(1, value.length() - 1);
+            if (withoutCoding(value).equals(tag.getValue())) {
+                // Echo the client's tag, which may carry the coding of the body it has
+                return Response.notModified(new EntityTag(value)).cacheControl(cacheControl).build();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param entity Response body
+     * @param tag Its tag
+     * @return 200 response with ETag and Cache-Control
+     */
+    public Response ok(Object entity, EntityTag tag) {
+        return Response.ok(entity).tag(tag).cacheControl(cacheControl).build();
+    }
+
+    /**
+     * Adds the Cache-Control header to a response built elsewhere.
+     * @param response Response builder
+     * @return The builder
+     */
+    Response.ResponseBuilder cached(Response.ResponseBuilder response) {
+        return response.cacheControl(cacheControl);
+    }
+
+    /**
+     * @param tag Tag of the plain body
+     * @param coding Content coding the body was compressed with
+     * @return Tag of the compressed body
+     */
+    static EntityTag withCoding(EntityTag tag, ResponseCompression.Coding coding) {
+        return new EntityTag(tag.getValue() + "-" + coding.token(), tag.isWeak());
+    }
+
+    private static String withoutCoding(String value) {
+        for (ResponseCompression.Coding coding : ResponseCompression.Coding.values()) {
+            String suffix = "-" + coding.token();
+            if (value.endsWith(suffix)) {
+                return value.substring(0, value.length() - suffix.length());
+            }
+        }
+        return value;
+    }
+
+    private static CacheControl cacheControl(int maxAgeSeconds) {
+        CacheControl cc = new CacheControl();
+        if (maxAgeSeconds > 0) {
+            cc.setMaxAge(maxAgeSeconds);
+        } else {
+            // Store, but revalidate every time; with the ETag that is a 304 when nothing changed
+            cc.setNoCache(true);
+        }
+        // JAX-RS defaults to no-transform, which would forbid proxies to compress
+        cc.setNoTransform(false);
+        return cc;
+    }
+}
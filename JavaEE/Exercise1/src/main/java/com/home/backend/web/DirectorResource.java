@@ -1,16 +1,24 @@
 package com.home.backend.web;
 
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 
-import com.home.backend.model.Director;
 import com.home.backend.service.DirectorService;
+import com.home.backend.service.FieldSelection;
+import com.home.backend.service.NameSuggestions;
+import com.home.backend.service.PersonView;
 
 import jakarta.inject.Inject;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
@@ -23,18 +31,46 @@ import jakarta.ws.rs.core.Response;
 @Consumes(MediaType.APPLICATION_JSON)
 public class DirectorResource {
 
+    private static final int MAX_SUGGESTIONS = 50;
+
     @Inject
     private DirectorService directorService;
 
+    @Inject
+    private BlockingCallExecutor blockingCalls;
+
+    @Inject
+    private NameSuggestions nameSuggestions;
+
+    @Inject
+    private ConditionalGet conditionalGet;
+
     /**
      * Retrieves all directors.
-     * @return Response with list of directors or error
+     * @param fields Comma-separated fields to return, or null for all
+     * @param ifNoneMatch ETags the client already has
+     * @return Response with list of directors, 304 if unchanged, or error
      */
     @GET
-    public Response getAllDirectors() {
+    @Precompressed
+    public Response getAllDirectors(@QueryParam("fields") String fields,
+                                    @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
         try {
-            List<Director> directors = directorService.findAll();
-            return Response.ok(directors).build();
+            EntityTag tag = conditionalGet.catalogTag();
+            Response notModified = conditionalGet.notModified(ifNoneMatch, tag);
+            if (notModified != null) {
+                return notModified;
+            }
+            FieldSelection selection = FieldSelection.parse(fields, PersonView.FIELDS);
+            if (selection != null) {
+                return conditionalGet.ok(directorService.findAllFields(selection), tag);
+            }
+            List<PersonView> directors = directorService.findAllViews();
+            return conditionalGet.ok(directors, tag);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(e.getMessage())
+                .build();
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                 .entity("Error retrieving directors: " + e.getMessage())
@@ -42,26 +78,98 @@ public class DirectorResource {
         }
     }
 
+    /**
+     * Suggests directors whose name starts with the typed text; answered from memory.
+     * @param prefix Start of a "first last" or "last, first" name
+     * @param limit Maximum number of directors (1-50, default 10)
+     * @return Response with matching directors in name order, or error
+     */
+    @GET
+    @Path("/suggest")
+    public Response suggestDirectors(@QueryParam("prefix") String prefix,
+                                     @QueryParam("limit") @DefaultValue("10") int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity("Query parameter prefix is required")
+                .build();
+        }
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity("limit must be between 1 and " + MAX_SUGGESTIONS)
+                .build();
+        }
+        return Response.ok(nameSuggestions.suggestDirectors(prefix, limit)).build();
+    }
+
     /**
      * Retrieves a specific director by ID.
      * @param id Director ID
-     * @return Response with director or error
+     * @param fields Comma-separated fields to return, or null for all
+     * @param ifNoneMatch ETags the client already has
+     * @return Response with director, 304 if unchanged, or error
      */
     @GET
     @Path("/{id}")
-    public Response getDirectorById(@PathParam("id") Long id) {
+    public Response getDirectorById(@PathParam("id") Long id, @QueryParam("fields") String fields,
+                                    @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
         try {
-            Director director = directorService.findDirectorById(id);
+            FieldSelection selection = FieldSelection.parse(fields, PersonView.FIELDS);
+            Long version = directorService.findVersion(id);
+            if (version == null) {
+                return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Director not found with id: " + id)
+                    .build();
+            }
+            EntityTag tag = conditionalGet.entityTag("d", id, version.toString());
+            Response notModified = conditionalGet.notModified(ifNoneMatch, tag);
+            if (notModified != null) {
+                return notModified;
+            }
+            Object director = selection == null
+                ? directorService.findViewById(id)
+                : directorService.findFieldsById(id, selection);
             if (director == null) {
                 return Response.status(Response.Status.NOT_FOUND)
                     .entity("Director not found with id: " + id)
                     .build();
             }
-            return Response.ok(director).build();
+            return conditionalGet.ok(director, tag);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(e.getMessage())
+                .build();
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                 .entity("Error retrieving director: " + e.getMessage())
                 .build();
         }
     }
+
+    /**
+     * Async variant of {@link #getAllDirectors(String, String)}; the query runs on a virtual thread.
+     * @param fields Comma-separated fields to return, or null for all
+     * @param ifNoneMatch ETags the client already has
+     * @return Stage completed with the same response
+     */
+    @GET
+    @Precompressed
+    @Path("/async")
+    public CompletionStage<Response> getAllDirectorsAsync(@QueryParam("fields") String fields,
+                                                          @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        return blockingCalls.submit(() -> getAllDirectors(fields, ifNoneMatch));
+    }
+
+    /**
+     * Async variant of {@link #getDirectorById(Long, String, String)}; the query runs on a virtual thread.
+     * @param id Director ID
+     * @param fields Comma-separated fields to return, or null for all
+     * @param ifNoneMatch ETags the client already has
+     * @return Stage completed with the same response
+     */
+    @GET
+    @Path("/async/{id}")
+    public CompletionStage<Response> getDirectorByIdAsync(@PathParam("id") Long id, @QueryParam("fields") String fields,
+                                                          @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        return blockingCalls.submit(() -> getDirectorById(id, fields, ifNoneMatch));
+    }
 }
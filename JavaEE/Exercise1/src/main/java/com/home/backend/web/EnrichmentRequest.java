@@ -0,0 +1,11 @@
+package com.home.backend.web;
+
+import java.util.List;
+
+/**
+ * Body of POST /api/enrichment.
+ * @param apiKey OMDb API key
+ * @param items Movie titles and/or IMDb IDs
+ */
+public record EnrichmentRequest(String apiKey, List<String> items) {
+}
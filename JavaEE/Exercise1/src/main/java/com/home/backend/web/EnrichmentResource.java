@@ -0,0 +1,106 @@
+package com.home.backend.web;
+
+import java.util.List;
+
+import com.home.backend.service.EnrichmentJob;
+import com.home.backend.service.EnrichmentService;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+
+/**
+ * REST resource for bulk OMDb enrichment jobs.
+ * Jobs run in the background; clients poll their progress.
+ */
+@Path("/enrichment")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class EnrichmentResource {
+
+    private static final int MAX_ITEMS = 50_000;
+
+    @Inject
+    private EnrichmentService enrichmentService;
+
+    /**
+     * Starts an enrichment job.
+     * @param request API key and list of titles or IMDb IDs
+     * @param uriInfo Used to build the job's Location
+     * @return 202 Accepted with the job, or 400 for an invalid request
+     */
+    @POST
+    public Response startJob(EnrichmentRequest request, @Context UriInfo uriInfo) {
+        if (request == null || request.apiKey() == null || request.apiKey().isBlank()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity("apiKey is required")
+                .build();
+        }
+        List<String> items = request.items() == null ? List.of() : request.items().stream()
+            .filter(s -> s != null && !s.isBlank())
+            .map(String::trim)
+            .distinct()
+            .toList();
+        if (items.isEmpty() || items.size() > MAX_ITEMS) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity("items must contain between 1 and " + MAX_ITEMS + " titles or IMDb IDs")
+                .build();
+        }
+
+        EnrichmentJob job = enrichmentService.submit(items, request.apiKey().trim());
+        return Response.accepted(job)
+            .location(uriInfo.getAbsolutePathBuilder().path(job.getId()).build())
+            .build();
+    }
+
+    /**
+     * Lists recent jobs.
+     * @return Response with jobs, oldest first
+     */
+    @GET
+    public Response getJobs() {
+        return Response.ok(enrichmentService.list()).build();
+    }
+
+    /**
+     * Retrieves the progress of a job.
+     * @param id Job ID
+     * @return Response with the job or 404
+     */
+    @GET
+    @Path("/{id}")
+    public Response getJob(@PathParam("id") String id) {
+        EnrichmentJob job = enrichmentService.find(id);
+        if (job == null) {
+            return Response.status(Response.Status.NOT_FOUND)
+                .entity("Enrichment job not found with id: " + id)
+                .build();
+        }
+        return Response.ok(job).build();
+    }
+
+    /**
+     * Cancels a job. Movies fetched so far are still saved.
+     * @param id Job ID
+     * @return 204 No Content or 404
+     */
+    @DELETE
+    @Path("/{id}")
+    public Response cancelJob(@PathParam("id") String id) {
+        if (!enrichmentService.cancel(id)) {
+            return Response.status(Response.Status.NOT_FOUND)
+                .entity("Enrichment job not found with id: " + id)
+                .build();
+        }
+        return Response.noContent().build();
+    }
+}
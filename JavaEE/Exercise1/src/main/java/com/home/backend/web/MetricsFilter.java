@@ -0,0 +1,75 @@
+package com.home.backend.web;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.home.backend.service.LatencyHistogram;
+import com.home.backend.service.MetricsRegistry;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Records latency and 5xx responses of every REST call, labelled with the
+ * resource's path template so {@code /movies/1} and {@code /movies/2} share a series.
+ * Time spent streaming an entity after the response filters run is not included.
+ */
+@Provider
+public class MetricsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String START = MetricsFilter.class.getName() + ".start";
+
+    @Inject
+    private MetricsRegistry metrics;
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    private final Map<Method, LatencyHistogram> byResourceMethod = new ConcurrentHashMap<>();
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        request.setProperty(START, System.nanoTime());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) throws IOException {
+        Object start = request.getProperty(START);
+        if (start == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - (Long) start;
+        Method method = resourceInfo.getResourceMethod();
+        LatencyHistogram histogram = method == null
+            ? metrics.endpoint(request.getMethod(), "unmatched")
+            : byResourceMethod.computeIfAbsent(method, m -> metrics.endpoint(httpMethod(m, request), template(m)));
+        histogram.record(nanos, response.getStatus() >= 500);
+    }
+
+    private static String httpMethod(Method method, ContainerRequestContext request) {
+        for (var annotation : method.getAnnotations()) {
+            HttpMethod http = annotation.annotationType().getAnnotation(HttpMethod.class);
+            if (http != null) {
+                return http.value();
+            }
+        }
+        return request.getMethod();
+    }
+
+    private static String template(Method method) {
+        Path type = method.getDeclaringClass().getAnnotation(Path.class);
+        Path sub = method.getAnnotation(Path.class);
+        String path = (type == null ? "" : type.value()) + (sub == null ? "" : "/" + sub.value());
+        return path.replaceAll("/+", "/");
+    }
+}
@@ -0,0 +1,29 @@
+package com.home.backend.web;
+
+import com.home.backend.service.MetricsRegistry;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * REST resource exposing request and service latency for Prometheus to scrape.
+ */
+@Path("/metrics")
+public class MetricsResource {
+
+    @Inject
+    private MetricsRegistry metrics;
+
+    /**
+     * Returns all latency histograms and error counters.
+     * @return Response in the Prometheus text exposition format
+     */
+    @GET
+    @Produces("text/plain; version=0.0.4; charset=utf-8")
+    public Response scrape() {
+        return Response.ok(metrics.scrape()).build();
+    }
+}
@@ -8,10 +8,10 @@ import java.util.stream.Collectors;
 import com.home.backend.model.Actor;
 import com.home.backend.model.Director;
 import com.home.backend.model.Movie;
-import com.home.backend.service.ActorService;
 import com.home.backend.service.DirectorService;
 import com.home.backend.service.MovieService;
 import com.home.backend.service.OmdbService;
+import com.home.backend.service.ReferenceDataCache;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.faces.application.FacesMessage;
@@ -32,20 +32,19 @@ public class MovieBean implements Serializable {
     @Inject
     private DirectorService directorService;
 
-    @Inject
-    private ActorService actorService;
-
     @Inject
     private MovieService movieService;
 
     @Inject
     private OmdbService omdbService;
 
-    private List<Movie> all;
+    @Inject
+    private ReferenceDataCache referenceData;
+
+    private final MovieLazyModel movies = new MovieLazyModel();
     private Movie selected;
     private Movie form;
     private Long directorId;
-    private List<Director> directors;
     private Long formDirectorId;
     private List<Long> formActorIds;
     private Integer searchYear;
@@ -55,25 +54,7 @@ public class MovieBean implements Serializable {
 
     @PostConstruct
     public void init() {
-        directors = directorService.findAll();
-        // DEV SAFETY: seed directors if list is empty
-        if (directors == null || directors.isEmpty()) {
-            directorService.ensureDevSeed();
-            directors = directorService.findAll();
-        }
-
-        // Also ensure actors are seeded
-        List<Actor> actors = actorService.findAll();
-        if (actors == null || actors.isEmpty()) {
-            actorService.ensureDevSeed();
-        }
-
-        try {
-            all = movieService.listAll();
-        } catch (Exception e) {
-            // Database might not be ready yet, initialize empty list
-            all = new ArrayList<>();
-        }
+        // Dropdown data comes from ReferenceDataCache; dev seeding runs once in DevDataSeeder
         form = new Movie();
         formActorIds = new ArrayList<>();
     }
@@ -119,11 +100,7 @@ public class MovieBean implements Serializable {
                     new FacesMessage(FacesMessage.SEVERITY_INFO, "Saved", "Movie saved successfully"));
 
             // refresh list and reset form
-            try {
-                all = movieService.listAll();
-            } catch (Exception e) {
-                all = new ArrayList<>();
-            }
+            movies.invalidate();
             form = new Movie();
             directorId = null;
             formActorIds = new ArrayList<>();
@@ -140,23 +117,22 @@ public class MovieBean implements Serializable {
             return;
         }
 
-        JsonObject movieData = omdbService.fetchMovie(omdbTitle.trim(), omdbApiKey.trim());
-        if (movieData == null || !"True".equals(movieData.getString("Response", "False"))) {
+        JsonObject movieData;
+        try {
+            movieData = omdbService.fetchMovie(omdbTitle.trim(), omdbApiKey.trim());
+        } catch (RuntimeException e) {
+            FacesContext.getCurrentInstance().addMessage(null,
+                    new FacesMessage(FacesMessage.SEVERITY_ERROR, "Error", e.getMessage()));
+            return;
+        }
+        if (!OmdbService.isFound(movieData)) {
             FacesContext.getCurrentInstance().addMessage(null,
                     new FacesMessage(FacesMessage.SEVERITY_ERROR, "Error", "Movie not found or API error"));
             return;
         }
 
         // Prefill form fields
-        form.setTitle(movieData.getString("Title", ""));
-        var y = movieData.getString("Year","").replaceAll("\\D","");
-        if (!y.isEmpty()) form.setYear(Integer.valueOf(y));
-        form.setGenre(movieData.getString("Genre",""));
-        var runtime = movieData.getString("Runtime","").replaceAll("\\D","");
-        if (!runtime.isEmpty()) form.setRuntimeMin(Integer.valueOf(runtime));
-        form.setPlotOneLine(movieData.getString("Plot",""));
-        form.setPosterUrl(movieData.getString("Poster",""));
-        form.setImdbId(movieData.getString("imdbID",""));
+        OmdbService.applyTo(movieData, form);
 
         FacesContext.getCurrentInstance().addMessage(null,
                 new FacesMessage(FacesMessage.SEVERITY_INFO, "Fetched", "Movie data fetched from OMDb"));
@@ -178,15 +154,33 @@ public class MovieBean implements Serializable {
         return m.getActors().stream().map(Actor::getFullName).collect(Collectors.joining(", "));
     }
 
+    // Paged movie list
+    public List<Movie> getPage() {
+        try {
+            return movies.getRows(movieService);
+        } catch (Exception e) {
+            // Database might not be ready yet
+            return List.of();
+        }
+    }
+    public long getRowCount() { return movies.getRowCount(movieService); }
+    public int getPageCount() { return movies.getPageCount(movieService); }
+    public boolean isHasPrevious() { return movies.getPageIndex() > 0; }
+    public boolean isHasNext() { return movies.getPageIndex() + 1 < getPageCount(); }
+    public void nextPage() { movies.next(); }
+    public void previousPage() { movies.previous(); }
+    public void sortBy(String field) { movies.sortBy(field); }
+    public MovieLazyModel getMovies() { return movies; }
+
     // Getters / Setters
-    public List<Movie> getAll() { return all; }
     public Movie getSelected() { return selected; }
     public void setSelected(Movie selected) { this.selected = selected; }
     public Movie getForm() { return form; }
     public void setForm(Movie form) { this.form = form; }
     public Long getDirectorId() { return directorId; }
     public void setDirectorId(Long directorId) { this.directorId = directorId; }
-    public List<Director> getDirectors() { return directors; }
+    public List<Director> getDirectors() { return referenceData.directors(); }
+    public List<Actor> getActors() { return referenceData.actors(); }
     public Long getFormDirectorId() { return formDirectorId; }
     public void setFormDirectorId(Long formDirectorId) { this.formDirectorId = formDirectorId; }
     public List<Long> getFormActorIds() { return formActorIds; }
@@ -0,0 +1,164 @@
+package com.home.backend.web;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.home.backend.service.MovieChangeLog;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+
+/**
+ * Delivers the {@link MovieChangeLog} to Server-Sent Events subscribers.
+ * <p>
+ * Subscribers are not sent to by the writer: an append only wakes them, and
+ * each subscriber then reads the log from its own position on the managed
+ * executor, one write in flight at a time. A slow client therefore holds back
+ * nothing but itself, costs no memory beyond its position, and when it falls
+ * further behind than the log reaches it gets a reset event instead of the
+ * changes it missed.
+ */
+@ApplicationScoped
+public class MovieChangeStream {
+
+    private static final Logger LOG = Logger.getLogger(MovieChangeStream.class.getName());
+
+    @Inject
+    private MovieChangeLog changeLog;
+
+    @Resource
+    private ManagedExecutorService executor;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Runnable wakeAll = () -> subscribers.forEach(Subscriber::wake);
+
+    @PostConstruct
+    void init() {
+        changeLog.addListener(wakeAll);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        changeLog.removeListener(wakeAll);
+        subscribers.forEach(Subscriber::close);
+    }
+
+    /**
+     * Starts streaming changes to a client.
+     * @param sink The client's event sink; stays open until the client leaves
+     * @param sse Event factory
+     * @param lastEventId Id of the last event the client has, from a previous
+     *        connection; null to receive only changes from now on
+     */
+    public void subscribe(SseEventSink sink, Sse sse, String lastEventId) {
+        long from = lastEventId == null || lastEventId.isBlank()
+            ? changeLog.last()
+            : changeLog.resumePoint(lastEventId.strip());
+        // Commits the response so the client sees the stream open before the first change
+        sink.send(sse.newEventBuilder().comment("movie changes").build());
+        Subscriber subscriber = new Subscriber(sink, sse, from);
+        subscribers.add(subscriber);
+        subscriber.wake();
+    }
+
+    /**
+     * @return Number of connected subscribers
+     */
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private final class Subscriber {
+        private final SseEventSink sink;
+        private final Sse sse;
+        private final AtomicBoolean running = new AtomicBoolean();
+        // Number of the last entry sent; only the running pump touches it
+        private volatile long cursor;
+
+        Subscriber(SseEventSink sink, Sse sse, long cursor) {
+            this.sink = sink;
+            this.sse = sse;
+            this.cursor = cursor;
+        }
+
+        void wake() {
+            if (running.compareAndSet(false, true)) {
+                resume();
+            }
+        }
+
+        private void resume() {
+            try {
+                executor.execute(this::pump);
+            } catch (RuntimeException e) {
+                // Executor gone (shutdown); never fall back to sending on the writer's thread
+                close();
+            }
+        }
+
+        private void pump() {
+            try {
+                for (MovieChangeLog.Entry entry; (entry = changeLog.next(cursor)) != null; ) {
+                    if (sink.isClosed()) {
+                        close();
+                        return;
+                    }
+                    CompletableFuture<?> sent = sink.send(toEvent(entry)).toCompletableFuture();
+                    cursor = entry.number();
+                    if (!sent.isDone()) {
+                        // Continue when the write completes instead of holding this thread
+                        sent.whenComplete((ignored, failure) -> {
+                            if (failure == null) {
+                                resume();
+                            } else {
+                                close();
+                            }
+                        });
+                        return;
+                    }
+                    sent.join();
+                }
+            } catch (RuntimeException e) {
+                // Client went away or the write failed
+                LOG.log(Level.FINE, "Dropping movie change subscriber", e);
+                close();
+                return;
+            }
+            running.set(false);
+            // An append after the last read found the flag still set
+            if (changeLog.next(cursor) != null) {
+                wake();
+            }
+        }
+
+        private OutboundSseEvent toEvent(MovieChangeLog.Entry entry) {
+            return sse.newEventBuilder()
+                .id(entry.id())
+                .name(entry.name())
+                .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                .data(entry.data())
+                .build();
+        }
+
+        void close() {
+            subscribers.remove(this);
+            try {
+                sink.close();
+            } catch (RuntimeException e) {
+                LOG.log(Level.FINE, "Could not close movie change subscriber", e);
+            }
+        }
+    }
+}
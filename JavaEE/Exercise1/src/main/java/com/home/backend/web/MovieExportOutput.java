@@ -0,0 +1,180 @@
+package com.home.backend.web;
+
+import java.io.BufferedWriter;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import com.home.backend.model.Director;
+import com.home.backend.model.Movie;
+import com.home.backend.service.MovieService;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.json.JsonWriterFactory;
+import jakarta.ws.rs.core.StreamingOutput;
+
+/**
+ * Writes the movie catalog to the response body while it is read from the database.
+ * Nothing but the current fetch window is held in memory.
+ */
+public class MovieExportOutput implements StreamingOutput {
+
+    /** Rows per JDBC fetch and per persistence-context window. */
+    static final int FETCH_SIZE = 500;
+
+    private static final JsonWriterFactory JSON = Json.createWriterFactory(Map.of());
+
+    /**
+     * Supported export formats.
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String mediaType() {
+            return mediaType;
+        }
+
+        public String fileName() {
+            return "movies." + extension;
+        }
+
+        /**
+         * Parses the format query parameter.
+         * @throws IllegalArgumentException for unknown formats
+         */
+        public static Format parse(String value) {
+            for (Format f : values()) {
+                if (f.extension.equalsIgnoreCase(value)) return f;
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + value + ". Use ndjson or csv.");
+        }
+    }
+
+    private static final String CSV_HEADER =
+        "id,title,year,genre,runtime_min,plot_one_line,poster_url,imdb_id,director_id,director_name\n";
+
+    private final MovieService movieService;
+    private final Format format;
+
+    public MovieExportOutput(MovieService movieService, Format format) {
+        this.movieService = movieService;
+        this.format = format;
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        Writer out = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == Format.CSV) {
+            out.write(CSV_HEADER);
+        }
+        try {
+            movieService.forEachMovie(FETCH_SIZE, m -> {
+                try {
+                    if (format == Format.CSV) writeCsv(m, out);
+                    else writeJson(m, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            // The container wraps exceptions from the sink in an EJBException;
+            // when the client went away mid-stream, surface the original I/O failure
+            for (Throwable t = e; t != null; t = t.getCause()) {
+                if (t instanceof UncheckedIOException io) throw io.getCause();
+            }
+            throw e;
+        }
+        out.flush();
+    }
+
+    private static void writeJson(Movie m, Writer out) throws IOException {
+        JsonObjectBuilder b = Json.createObjectBuilder()
+            .add("id", m.getId())
+            .add("title", m.getTitle())
+            .add("year", m.getYear());
+        addIfPresent(b, "genre", m.getGenre());
+        if (m.getRuntimeMin() != null) b.add("runtimeMin", m.getRuntimeMin());
+        addIfPresent(b, "plotOneLine", m.getPlotOneLine());
+        addIfPresent(b, "posterUrl", m.getPosterUrl());
+        addIfPresent(b, "imdbId", m.getImdbId());
+        Director d = m.getDirector();
+        b.add("directorId", d.getId()).add("directorName", d.getFullName());
+
+        // JsonWriter.close() would close the response stream, so only write the object
+        JSON.createWriter(new NonClosingWriter(out)).writeObject(b.build());
+        out.write('\n');
+    }
+
+    private static void addIfPresent(JsonObjectBuilder b, String name, String value) {
+        if (value != null) b.add(name, value);
+    }
+
+    private static void writeCsv(Movie m, Writer out) throws IOException {
+        Director d = m.getDirector();
+        out.write(String.valueOf(m.getId()));
+        out.write(',');
+        csvField(out, m.getTitle());
+        out.write(',');
+        out.write(String.valueOf(m.getYear()));
+        out.write(',');
+        csvField(out, m.getGenre());
+        out.write(',');
+        if (m.getRuntimeMin() != null) out.write(String.valueOf(m.getRuntimeMin()));
+        out.write(',');
+        csvField(out, m.getPlotOneLine());
+        out.write(',');
+        csvField(out, m.getPosterUrl());
+        out.write(',');
+        csvField(out, m.getImdbId());
+        out.write(',');
+        out.write(String.valueOf(d.getId()));
+        out.write(',');
+        csvField(out, d.getFullName());
+        out.write('\n');
+    }
+
+    /**
+     * Writes a value per RFC 4180, quoting only when it contains a delimiter, quote or line break.
+     */
+    private static void csvField(Writer out, String value) throws IOException {
+        if (value == null) return;
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    private static final class NonClosingWriter extends FilterWriter {
+        NonClosingWriter(Writer out) {
+            super(out);
+        }
+
+        @Override
+        public void close() {
+            // keep the response stream open for the next row
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.home.backend.web;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Objects;
+
+import com.home.backend.model.Movie;
+import com.home.backend.service.MovieService;
+
+import jakarta.faces.context.FacesContext;
+
+/**
+ * Server-paged model behind the movie list table.
+ * Only the paging, sorting and filter state is kept in the view; the rows of
+ * the visible page and the match count are transient, so they are fetched per
+ * request and never serialized with the view state.
+ */
+public class MovieLazyModel implements Serializable {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    private int pageIndex;
+    private int pageSize = DEFAULT_PAGE_SIZE;
+    private String sortField = "title";
+    private boolean ascending = true;
+    private String titleFilter;
+
+    private transient List<Movie> rows;
+    private transient Long rowCount;
+
+    /**
+     * Returns the rows of the current page, querying the database at most once per request.
+     * @param movieService Service used to load the page
+     * @return Movies of the visible page
+     */
+    public List<Movie> getRows(MovieService movieService) {
+        reloadOncePerRequest();
+        if (rows == null) {
+            // Clamp first in case rows were deleted or the filter narrowed the result
+            int pages = getPageCount(movieService);
+            if (pageIndex >= pages) pageIndex = Math.max(0, pages - 1);
+            rows = movieService.findPage(titleFilter, sortField, ascending, pageIndex * pageSize, pageSize);
+        }
+        return rows;
+    }
+
+    public long getRowCount(MovieService movieService) {
+        reloadOncePerRequest();
+        if (rowCount == null) {
+            rowCount = movieService.countMatching(titleFilter);
+        }
+        return rowCount;
+    }
+
+    public int getPageCount(MovieService movieService) {
+        return (int) ((getRowCount(movieService) + pageSize - 1) / pageSize);
+    }
+
+    /**
+     * Sorts by the given column, toggling the direction when it is already the sort column.
+     */
+    public void sortBy(String field) {
+        if (field.equals(sortField)) {
+            ascending = !ascending;
+        } else {
+            sortField = field;
+            ascending = true;
+        }
+        pageIndex = 0;
+        invalidate();
+    }
+
+    public void next() {
+        pageIndex++;
+        invalidate();
+    }
+
+    public void previous() {
+        if (pageIndex > 0) pageIndex--;
+        invalidate();
+    }
+
+    /**
+     * The view outlives a single request, so drop rows cached by an earlier
+     * postback the first time this model is touched in a new request.
+     */
+    private void reloadOncePerRequest() {
+        FacesContext fc = FacesContext.getCurrentInstance();
+        if (fc != null && fc.getAttributes().putIfAbsent(this, Boolean.TRUE) == null) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Drops the cached page so the next access reloads it, e.g. after a save.
+     */
+    public void invalidate() {
+        rows = null;
+        rowCount = null;
+    }
+
+    public int getPageIndex() { return pageIndex; }
+    public int getPageSize() { return pageSize; }
+    public String getSortField() { return sortField; }
+    public boolean isAscending() { return ascending; }
+    public String getTitleFilter() { return titleFilter; }
+
+    public void setTitleFilter(String titleFilter) {
+        if (Objects.equals(this.titleFilter, titleFilter)) return;
+        this.titleFilter = titleFilter;
+        pageIndex = 0;
+        invalidate();
+    }
+}
@@ -0,0 +1,85 @@
+package com.home.backend.web;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.home.backend.model.Movie;
+import com.home.backend.service.MovieImportRow;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonException;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonValue;
+
+/**
+ * Parses one line of a bulk import. Accepts the POST /api/movies shape
+ * ({@code "director": {"id": 1}, "actors": [{"id": 2}]}) as well as the flat
+ * shape written by /api/movies/export ({@code "directorId": 1, "actorIds": [2]}).
+ */
+final class MovieNdjsonParser {
+
+    private MovieNdjsonParser() {
+    }
+
+    /**
+     * @param line 1-based line number
+     * @param json The line's text
+     * @return Parsed row
+     * @throws IllegalArgumentException if the line is not valid JSON or misses required fields
+     */
+    static MovieImportRow parse(int line, String json) {
+        JsonObject o;
+        try (JsonReader reader = Json.createReader(new StringReader(json))) {
+            o = reader.readObject();
+        } catch (JsonException | IllegalStateException e) {
+            throw new IllegalArgumentException("line " + line + ": invalid JSON");
+        }
+
+        Movie movie = new Movie();
+        movie.setTitle(o.getString("title", null));
+        movie.setYear(intOrNull(o, "year"));
+        movie.setGenre(o.getString("genre", null));
+        movie.setRuntimeMin(intOrNull(o, "runtimeMin"));
+        movie.setPlotOneLine(o.getString("plotOneLine", null));
+        movie.setPosterUrl(o.getString("posterUrl", null));
+        movie.setImdbId(o.getString("imdbId", null));
+        if (movie.getTitle() == null || movie.getTitle().isBlank()) {
+            throw new IllegalArgumentException("line " + line + ": title is required");
+        }
+        if (movie.getYear() == null) {
+            throw new IllegalArgumentException("line " + line + ": year is required");
+        }
+
+        Long directorId = longOrNull(o, "directorId");
+        if (directorId == null && o.get("director") instanceof JsonObject d) {
+            directorId = longOrNull(d, "id");
+        }
+        if (directorId == null) {
+            throw new IllegalArgumentException("line " + line + ": director id is required");
+        }
+
+        List<Long> actorIds = new ArrayList<>();
+        if (o.get("actorIds") instanceof JsonArray ids) {
+            for (JsonValue v : ids) {
+                if (v instanceof JsonNumber n) actorIds.add(n.longValue());
+            }
+        } else if (o.get("actors") instanceof JsonArray actors) {
+            for (JsonValue v : actors) {
+                if (v instanceof JsonObject a && longOrNull(a, "id") != null) actorIds.add(longOrNull(a, "id"));
+            }
+        }
+        return new MovieImportRow(line, movie, directorId, actorIds);
+    }
+
+    private static Integer intOrNull(JsonObject o, String name) {
+        return o.get(name) instanceof JsonNumber n ? n.intValue() : null;
+    }
+
+    private static Long longOrNull(JsonObject o, String name) {
+        return o.get(name) instanceof JsonNumber n ? n.longValue() : null;
+    }
+}
@@ -1,35 +1,116 @@
 package com.home.backend.web;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
 
 import com.home.backend.model.Actor;
 import com.home.backend.model.Movie;
+import com.home.backend.service.FieldSelection;
+import com.home.backend.service.MovieBulkService;
+import com.home.backend.service.MovieCursor;
+import com.home.backend.service.MovieImportRow;
+import com.home.backend.service.MovieSearchIndex;
 import com.home.backend.service.MovieService;
+import com.home.backend.service.MovieSimilarity;
+import com.home.backend.service.MovieView;
+import com.home.backend.service.Page;
+import com.home.backend.service.SimilarMovie;
 
 import jakarta.inject.Inject;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
 
 @Path("/movies")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 public class MovieResource {
 
+    private static final int MAX_BULK_BATCH_SIZE = 5_000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final FieldSelection ID_ONLY = FieldSelection.parse("id", MovieView.LIST_FIELDS);
+
     @Inject
     private MovieService movieService;
 
+    @Inject
+    private MovieBulkService movieBulkService;
+
+    @Inject
+    private MovieSearchIndex searchIndex;
+
+    @Inject
+    private MovieSimilarity similarity;
+
+    @Inject
+    private BlockingCallExecutor blockingCalls;
+
+    @Inject
+    private MovieChangeStream changeStream;
+
+    @Inject
+    private ConditionalGet conditionalGet;
+
     @GET
-    public Response getAllMovies() {
+    @Precompressed
+    public Response getAllMovies(@QueryParam("limit") Integer limit, @QueryParam("after") String after,
+                                 @QueryParam("fields") String fields,
+                                 @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
         try {
-            List<Movie> movies = movieService.listAll();
-            return Response.ok(movies).build();
+            EntityTag tag = conditionalGet.catalogTag();
+            Response notModified = conditionalGet.notModified(ifNoneMatch, tag);
+            if (notModified != null) {
+                return notModified;
+            }
+            FieldSelection selection = FieldSelection.parse(fields, MovieView.LIST_FIELDS);
+            if (limit == null && after == null) {
+                if (selection != null) {
+                    return conditionalGet.ok(movieService.listAllFields(selection), tag);
+                }
+                List<MovieView> movies = movieService.listAllViews();
+                return conditionalGet.ok(movies, tag);
+            }
+
+            int pageSize = limit == null ? MovieService.DEFAULT_PAGE_SIZE : limit;
+            if (pageSize < 1 || pageSize > MovieService.MAX_PAGE_SIZE) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("limit must be between 1 and " + MovieService.MAX_PAGE_SIZE)
+                        .build();
+            }
+            MovieCursor cursor = after == null || after.isBlank() ? null : MovieCursor.decode(after);
+
+            if (selection != null) {
+                return conditionalGet.ok(movieService.listPageFields(cursor, pageSize, selection), tag);
+            }
+            Page<MovieView> page = movieService.listPage(cursor, pageSize);
+            return conditionalGet.ok(page, tag);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(e.getMessage())
+                    .build();
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity("Error retrieving movies: " + e.getMessage())
@@ -37,17 +118,83 @@ public class MovieResource {
         }
     }
 
+    @GET
+    @Path("/export")
+    @Produces({"application/x-ndjson", "text/csv"})
+    public Response exportMovies(@QueryParam("format") @DefaultValue("ndjson") String format) {
+        MovieExportOutput.Format exportFormat;
+        try {
+            exportFormat = MovieExportOutput.Format.parse(format);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .type(MediaType.TEXT_PLAIN)
+                    .entity(e.getMessage())
+                    .build();
+        }
+        return Response.ok(new MovieExportOutput(movieService, exportFormat), exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + exportFormat.fileName() + "\"")
+                .build();
+    }
+
+    @GET
+    @Path("/search")
+    public Response searchMovies(@QueryParam("q") String q, @QueryParam("limit") @DefaultValue("20") int limit) {
+        if (q == null || q.isBlank()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Query parameter q is required")
+                    .build();
+        }
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("limit must be between 1 and " + MAX_SEARCH_RESULTS)
+                    .build();
+        }
+        return Response.ok(searchIndex.search(q, limit)).build();
+    }
+
+    /**
+     * Server-Sent Events stream of committed movie creates and updates. A client
+     * that reconnects with Last-Event-ID gets the changes it missed while they are
+     * still in the change log, otherwise a reset event telling it to reload.
+     */
+    @GET
+    @Path("/changes")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void streamChanges(@Context SseEventSink sink, @Context Sse sse,
+                              @HeaderParam(HttpHeaders.LAST_EVENT_ID_HEADER) String lastEventId) {
+        changeStream.subscribe(sink, sse, lastEventId);
+    }
+
     @GET
     @Path("/{id}")
-    public Response getMovieById(@PathParam("id") Long id) {
+    public Response getMovieById(@PathParam("id") Long id, @QueryParam("fields") String fields,
+                                 @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
         try {
-            Movie movie = movieService.findWithDetails(id);
+            FieldSelection selection = FieldSelection.parse(fields, MovieView.FIELDS);
+            String version = movieService.findDetailVersion(id);
+            if (version == null) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity("Movie not found with id: " + id)
+                        .build();
+            }
+            EntityTag tag = conditionalGet.entityTag("m", id, version);
+            Response notModified = conditionalGet.notModified(ifNoneMatch, tag);
+            if (notModified != null) {
+                return notModified;
+            }
+            Object movie = selection == null
+                    ? movieService.findDetailView(id)
+                    : movieService.findDetailFields(id, selection);
             if (movie == null) {
                 return Response.status(Response.Status.NOT_FOUND)
                         .entity("Movie not found with id: " + id)
                         .build();
             }
-            return Response.ok(movie).build();
+            return conditionalGet.ok(movie, tag);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(e.getMessage())
+                    .build();
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity("Error retrieving movie: " + e.getMessage())
@@ -55,12 +202,54 @@ public class MovieResource {
         }
     }
 
+    @GET
+    @Path("/{id}/similar")
+    public Response getSimilarMovies(@PathParam("id") Long id, @QueryParam("limit") Integer limit) {
+        try {
+            int max = limit == null ? similarity.topK() : limit;
+            if (max < 1 || max > similarity.topK()) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("limit must be between 1 and " + similarity.topK())
+                        .build();
+            }
+            List<SimilarMovie> similar = similarity.similar(id, max);
+            if (similar == null) {
+                // Not scored yet if it was created a moment ago
+                if (movieService.findFieldsByIds(List.of(id), ID_ONLY).isEmpty()) {
+                    return Response.status(Response.Status.NOT_FOUND)
+                            .entity("Movie not found with id: " + id)
+                            .build();
+                }
+                similar = List.of();
+            }
+            return Response.ok(similar).build();
+        } catch (Exception e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity("Error retrieving similar movies: " + e.getMessage())
+                    .build();
+        }
+    }
+
     @GET
     @Path("/year/{year}")
-    public Response getMoviesByYear(@PathParam("year") Integer year) {
+    public Response getMoviesByYear(@PathParam("year") Integer year, @QueryParam("fields") String fields,
+                                    @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
         try {
-            List<Movie> movies = movieService.findByYear(year);
-            return Response.ok(movies).build();
+            EntityTag tag = conditionalGet.catalogTag();
+            Response notModified = conditionalGet.notModified(ifNoneMatch, tag);
+            if (notModified != null) {
+                return notModified;
+            }
+            FieldSelection selection = FieldSelection.parse(fields, MovieView.FIELDS);
+            if (selection != null) {
+                return conditionalGet.ok(movieService.findFieldsByYear(year, selection), tag);
+            }
+            List<MovieView> movies = movieService.findViewsByYear(year);
+            return conditionalGet.ok(movies, tag);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(e.getMessage())
+                    .build();
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                     .entity("Error retrieving movies by year: " + e.getMessage())
@@ -98,7 +287,7 @@ public class MovieResource {
             }
 
             return Response.status(Response.Status.CREATED)
-                    .entity(movie)
+                    .entity(movieService.findDetailView(movie.getId()))
                     .build();
         } catch (Exception e) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
@@ -106,4 +295,124 @@ public class MovieResource {
                     .build();
         }
     }
+
+    /**
+     * Inserts movies from an NDJSON upload, one movie per line, in batched transactions.
+     * Each batch resolves its directors and actors with one query and is written as
+     * JDBC batches; a batch that fails as a whole is retried row by row so one bad
+     * row does not reject its neighbours.
+     */
+    @POST
+    @Path("/bulk")
+    @Consumes({"application/x-ndjson", MediaType.TEXT_PLAIN})
+    public Response bulkInsert(InputStream body, @QueryParam("batchSize") @DefaultValue("500") int batchSize) {
+        if (batchSize < 1 || batchSize > MAX_BULK_BATCH_SIZE) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("batchSize must be between 1 and " + MAX_BULK_BATCH_SIZE)
+                    .build();
+        }
+        long start = System.nanoTime();
+        int received = 0;
+        int inserted = 0;
+        int rejected = 0;
+        List<String> errors = new ArrayList<>();
+        List<MovieImportRow> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNo = 0;
+            while (true) {
+                line = reader.readLine();
+                if (line != null) {
+                    lineNo++;
+                    if (line.isBlank()) continue;
+                    received++;
+                    try {
+                        batch.add(MovieNdjsonParser.parse(lineNo, line));
+                    } catch (IllegalArgumentException e) {
+                        rejected++;
+                        addError(errors, e.getMessage());
+                    }
+                }
+                if (batch.size() >= batchSize || (line == null && !batch.isEmpty())) {
+                    MovieBulkService.Outcome outcome = insertBatch(batch, batchSize);
+                    inserted += outcome.inserted();
+                    rejected += outcome.errors().size();
+                    outcome.errors().forEach(e -> addError(errors, e));
+                    batch.clear();
+                }
+                if (line == null) break;
+            }
+        } catch (IOException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Error reading upload after " + inserted + " inserted movies: " + e.getMessage())
+                    .build();
+        }
+
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("received", received);
+        report.put("inserted", inserted);
+        report.put("rejected", rejected);
+        report.put("elapsedMs", elapsedMs);
+        report.put("rowsPerSecond", inserted * 1000L / elapsedMs);
+        report.put("errors", errors);
+        return Response.ok(report, MediaType.APPLICATION_JSON).build();
+    }
+
+    private MovieBulkService.Outcome insertBatch(List<MovieImportRow> batch, int batchSize) {
+        try {
+            return movieBulkService.insertBatch(batch, batchSize);
+        } catch (Exception batchFailure) {
+            // e.g. a duplicate (title, year) rolled back the batch: isolate the offending rows
+            int inserted = 0;
+            List<String> errors = new ArrayList<>();
+            for (MovieImportRow row : batch) {
+                row.movie().setId(null);
+                try {
+                    MovieBulkService.Outcome single = movieBulkService.insertBatch(List.of(row), 1);
+                    inserted += single.inserted();
+                    errors.addAll(single.errors());
+                } catch (Exception e) {
+                    errors.add("line " + row.line() + ": " + rootMessage(e));
+                }
+            }
+            return new MovieBulkService.Outcome(inserted, errors);
+        }
+    }
+
+    private static void addError(List<String> errors, String message) {
+        if (errors.size() < MAX_REPORTED_ERRORS) errors.add(message);
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null) root = root.getCause();
+        return root.getMessage();
+    }
+
+    // Async variants: same responses, but the database work runs on a virtual
+    // thread and the container worker is released while it waits (see BlockingCallExecutor)
+
+    @GET
+    @Precompressed
+    @Path("/async")
+    public CompletionStage<Response> getAllMoviesAsync(@QueryParam("limit") Integer limit, @QueryParam("after") String after,
+                                                       @QueryParam("fields") String fields,
+                                                       @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        return blockingCalls.submit(() -> getAllMovies(limit, after, fields, ifNoneMatch));
+    }
+
+    @GET
+    @Path("/async/{id}")
+    public CompletionStage<Response> getMovieByIdAsync(@PathParam("id") Long id, @QueryParam("fields") String fields,
+                                                       @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        return blockingCalls.submit(() -> getMovieById(id, fields, ifNoneMatch));
+    }
+
+    @GET
+    @Path("/async/year/{year}")
+    public CompletionStage<Response> getMoviesByYearAsync(@PathParam("year") Integer year, @QueryParam("fields") String fields,
+                                                          @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        return blockingCalls.submit(() -> getMoviesByYear(year, fields, ifNoneMatch));
+    }
 }
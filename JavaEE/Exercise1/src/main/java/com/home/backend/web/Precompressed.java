@@ -0,0 +1,19 @@
+package com.home.backend.web;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import jakarta.ws.rs.NameBinding;
+
+/**
+ * Marks a GET method whose compressed responses are kept by
+ * {@link PrecompressedResponses} until the catalog changes. Such a method tags its
+ * responses with {@link ConditionalGet#catalogTag()}, as the cache hits are.
+ */
+@NameBinding
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Precompressed {
+}
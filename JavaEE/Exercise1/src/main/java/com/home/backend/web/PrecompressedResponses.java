@@ -0,0 +1,169 @@
+package com.home.backend.web;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.home.backend.service.CatalogVersion;
+import com.home.backend.service.MetricsRegistry;
+import com.home.backend.service.Settings;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+/**
+ * Bounded LRU cache of compressed bodies of {@link Precompressed} methods, keyed by
+ * coding, path and the list parameters, and tagged with the {@link CatalogVersion}
+ * they were built from. A hit is answered before the resource method runs, so the
+ * query, the JSON serialization and the compression are all skipped. Once the
+ * catalog changes, old entries no longer match and are replaced on the next request.
+ * Hits carry the catalog ETag, and a client that already has that body gets 304 instead.
+ * <p>
+ * The cache is bounded by entry count and by total bytes, since a full list body
+ * runs to megabytes. Only {@code limit} and {@code fields} go into the key, the
+ * latter in canonical order, so other query parameters cannot fill it with copies.
+ * Keyset pages ({@code after=}) are not kept: each cursor is requested about once,
+ * and storing them would only evict the full lists.
+ */
+@ApplicationScoped
+@Provider
+@Precompressed
+public class PrecompressedResponses implements ContainerRequestFilter, ContainerResponseFilter {
+
+    /** Request property: where {@link ResponseCompression} should store the compressed body. */
+    private static final String PENDING = PrecompressedResponses.class.getName() + ".pending";
+
+    @Inject
+    private CatalogVersion catalogVersion;
+
+    @Inject
+    private MetricsRegistry metrics;
+
+    @Inject
+    private ConditionalGet conditionalGet;
+
+    private final int maxEntries = Settings.getInt("compression.cache-entries", 64);
+    private final long maxBytes = Settings.getLong("compression.cache-bytes", 32L * 1024 * 1024);
+    // Access-ordered so the eldest entry is the least recently used one
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;  // guarded by entries
+
+    private LongAdder hits;
+    private LongAdder misses;
+
+    @PostConstruct
+    void init() {
+        hits = metrics.counter("compression_cache_hits_total", "Precompressed responses served from the cache.");
+        misses = metrics.counter("compression_cache_misses_total", "Precompressed responses that had to be built.");
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        ResponseCompression.Coding coding = (ResponseCompression.Coding) request.getProperty(ResponseCompression.CODING);
+        if (coding == null) {
+            return;
+        }
+        String key = keyOf(coding, request);
+        if (key == null) {
+            return;
+        }
+        long version = catalogVersion.current();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null && entry.version() == version) {
+            hits.increment();
+            EntityTag tag = conditionalGet.catalogTag(version);
+            Response notModified = conditionalGet.notModified(request.getHeaderString(HttpHeaders.IF_NONE_MATCH), tag);
+            if (notModified != null) {
+                request.abortWith(notModified);
+                return;
+            }
+            request.abortWith(conditionalGet.cached(Response.ok(entry.body(), entry.mediaType()))
+                .header(HttpHeaders.CONTENT_ENCODING, coding.token())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .tag(ConditionalGet.withCoding(tag, coding))
+                .build());
+            return;
+        }
+        misses.increment();
+        // Tagged with the version seen before the query ran; a change committed meanwhile makes it stale at once
+        request.setProperty(PENDING, new Pending(key, version));
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        if (response.getStatus() != Response.Status.OK.getStatusCode()) {
+            request.removeProperty(PENDING);
+        }
+    }
+
+    /**
+     * Keeps a compressed body if the request is one this cache is waiting for.
+     * @param context Writer context of the response
+     * @param compressed Body as sent, in the request's negotiated coding
+     */
+    void store(WriterInterceptorContext context, byte[] compressed) {
+        if (!(context.getProperty(PENDING) instanceof Pending pending)) {
+            return;
+        }
+        if (compressed.length > maxBytes) {
+            return;
+        }
+        synchronized (entries) {
+            Entry replaced = entries.put(pending.key(), new Entry(pending.version(), context.getMediaType().toString(), compressed));
+            bytes += compressed.length - (replaced == null ? 0 : replaced.body().length);
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (bytes > maxBytes || entries.size() > maxEntries) {
+                bytes -= eldest.next().body().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * @return Cache key of the request, or null if its response is not to be cached
+     */
+    private static String keyOf(ResponseCompression.Coding coding, ContainerRequestContext request) {
+        MultivaluedMap<String, String> query = request.getUriInfo().getQueryParameters();
+        if (query.getFirst("after") != null) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(coding.token()).append(' ')
+            .append(request.getUriInfo().getPath());
+        String limit = query.getFirst("limit");
+        if (limit != null) {
+            key.append("?limit=").append(limit.strip());
+        }
+        String fields = query.getFirst("fields");
+        if (fields != null && !fields.isBlank()) {
+            // The body lists fields in a fixed order whatever order they were asked in
+            TreeSet<String> names = new TreeSet<>();
+            for (String name : fields.split(",")) {
+                if (!name.isBlank()) names.add(name.strip());
+            }
+            key.append(limit == null ? '?' : '&').append("fields=").append(String.join(",", names));
+        }
+        return key.toString();
+    }
+
+    private record Pending(String key, long version) {
+    }
+
+    private record Entry(long version, String mediaType, byte[] body) {
+    }
+}
@@ -0,0 +1,151 @@
+package com.home.backend.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.home.backend.service.Settings;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+/**
+ * Compresses JSON responses of at least {@code compression.min-bytes} (default 1024)
+ * with gzip or deflate, whichever the client's Accept-Encoding prefers. The body is
+ * serialized into a buffer first to learn its size; streamed media types such as
+ * the NDJSON export are left alone.
+ */
+@Provider
+@Priority(Priorities.ENTITY_CODER)
+public class ResponseCompression implements ContainerRequestFilter, WriterInterceptor {
+
+    /** Request property holding the negotiated {@link Coding}, absent if none. */
+    static final String CODING = ResponseCompression.class.getName() + ".coding";
+
+    @Inject
+    private PrecompressedResponses precompressed;
+
+    private final int minBytes = Settings.getInt("compression.min-bytes", 1024);
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        Coding coding = Coding.negotiate(request.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
+        if (coding != null) {
+            request.setProperty(CODING, coding);
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        MultivaluedMap<String, Object> headers = context.getHeaders();
+        if (!MediaType.APPLICATION_JSON_TYPE.isCompatible(context.getMediaType())
+                || headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            context.proceed();
+            return;
+        }
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        Coding coding = (Coding) context.getProperty(CODING);
+        if (coding == null) {
+            context.proceed();
+            return;
+        }
+
+        OutputStream out = context.getOutputStream();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(8192);
+        context.setOutputStream(body);
+        context.proceed();
+        if (body.size() < minBytes) {
+            body.writeTo(out);
+            return;
+        }
+        byte[] compressed = coding.compress(body);
+        precompressed.store(context, compressed);
+        headers.putSingle(HttpHeaders.CONTENT_ENCODING, coding.token());
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        if (headers.getFirst(HttpHeaders.ETAG) instanceof EntityTag tag) {
+            // A strong tag names exact bytes, so the compressed body needs its own
+            headers.putSingle(HttpHeaders.ETAG, ConditionalGet.withCoding(tag, coding));
+        }
+        out.write(compressed);
+    }
+
+    /** Content codings this server produces. */
+    enum Coding {
+        GZIP("gzip"),
+        DEFLATE("deflate");
+
+        private final String token;
+
+        Coding(String token) {
+            this.token = token;
+        }
+
+        String token() {
+            return token;
+        }
+
+        byte[] compress(ByteArrayOutputStream body) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.size() / 4 + 64);
+            try (OutputStream encoder = this == GZIP ? new GZIPOutputStream(out, 8192) : new DeflaterOutputStream(out)) {
+                body.writeTo(encoder);
+            }
+            return out.toByteArray();
+        }
+
+        /**
+         * Picks the coding with the highest q value; gzip wins ties and is what {@code *} stands for.
+         * @param acceptEncoding Accept-Encoding header, may be null
+         * @return Coding to use, or null to send the body as is
+         */
+        static Coding negotiate(String acceptEncoding) {
+            if (acceptEncoding == null || acceptEncoding.isBlank()) {
+                return null;
+            }
+            float gzip = -1;
+            float deflate = -1;
+            float any = -1;
+            for (String item : acceptEncoding.split(",")) {
+                String[] parts = item.split(";");
+                String name = parts[0].trim().toLowerCase(Locale.ROOT);
+                float q = quality(parts);
+                switch (name) {
+                    case "gzip", "x-gzip" -> gzip = q;
+                    case "deflate" -> deflate = q;
+                    case "*" -> any = q;
+                    default -> { }
+                }
+            }
+            if (gzip < 0) gzip = Math.max(any, 0);
+            if (deflate < 0) deflate = Math.max(any, 0);
+            if (gzip > 0 && gzip >= deflate) return GZIP;
+            return deflate > 0 ? DEFLATE : null;
+        }
+
+        private static float quality(String[] parts) {
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Float.parseFloat(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.home.backend.web;
+
+import com.home.backend.service.SlowQueryService;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * REST resource for the slow-query log.
+ */
+@Path("/slow-queries")
+@Produces(MediaType.APPLICATION_JSON)
+public class SlowQueryResource {
+
+    @Inject
+    private SlowQueryService slowQueryService;
+
+    /**
+     * Returns the slowest queries recorded since startup (or the last clear).
+     * @param explain When true, database plans are captured for entries that have none yet
+     * @return Response with the slow queries, slowest first
+     */
+    @GET
+    public Response list(@QueryParam("explain") boolean explain) {
+        return Response.ok(slowQueryService.list(explain)).build();
+    }
+
+    /**
+     * Empties the slow-query log.
+     * @return 204 No Content
+     */
+    @DELETE
+    public Response clear() {
+        slowQueryService.clear();
+        return Response.noContent().build();
+    }
+}
@@ -0,0 +1,188 @@
+package com.home.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link CastGraph} on small hand-built and random casts, checked against a plain
+ * breadth-first search and a graph built from scratch.
+ */
+class CastGraphTest {
+
+    /** Movie id to sorted actor ids; actors 50 and 60 are apart from the rest. */
+    private static final SortedMap<Long, long[]> CASTS = new TreeMap<>(Map.of(
+        1L, new long[] {10, 20, 30},
+        2L, new long[] {10, 20},
+        3L, new long[] {10, 40},
+        4L, new long[] {10, 30},
+        5L, new long[] {50, 60}));
+
+    @Test
+    void costarsAreRankedBySharedMoviesThenId() {
+        CastGraph graph = build(CASTS);
+
+        assertEquals(List.of(new CastGraph.Costar(20, 2), new CastGraph.Costar(30, 2), new CastGraph.Costar(40, 1)),
+            graph.costars(10, 10));
+        assertEquals(List.of(new CastGraph.Costar(20, 2), new CastGraph.Costar(30, 2)), graph.costars(10, 2));
+        assertEquals(List.of(new CastGraph.Costar(10, 2), new CastGraph.Costar(30, 1)), graph.costars(20, 10));
+        assertEquals(List.of(new CastGraph.Costar(60, 1)), graph.costars(50, 10));
+        assertEquals(List.of(), graph.costars(99, 10));
+        assertEquals(List.of(), graph.costars(10, 0));
+    }
+
+    @Test
+    void pathBetweenSameActorIsTheActor() {
+        assertArrayEquals(new long[] {10}, build(CASTS).path(10, 10));
+    }
+
+    @Test
+    void pathBetweenDisconnectedOrUnknownActorsIsEmpty() {
+        CastGraph graph = build(CASTS);
+
+        assertArrayEquals(new long[0], graph.path(20, 60));
+        assertArrayEquals(new long[0], graph.path(60, 20));
+        assertArrayEquals(new long[0], graph.path(99, 10));
+        assertArrayEquals(new long[0], graph.path(10, 99));
+    }
+
+    @Test
+    void pathGoesThroughSharedMovies() {
+        CastGraph graph = build(CASTS);
+
+        assertArrayEquals(new long[] {40, 3, 10}, graph.path(40, 10));
+        long[] path = graph.path(20, 40);
+        assertEquals(5, path.length);
+        assertValidPath(CASTS, path, 20, 40);
+    }
+
+    @Test
+    void pathLengthMatchesPlainBreadthFirstSearch() {
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            SortedMap<Long, long[]> casts = randomCasts(random, 40, 60);
+            CastGraph graph = build(casts);
+            Set<Long> actors = actorsOf(casts);
+            for (long from : actors) {
+                Map<Long, Integer> distances = bfs(casts, from);
+                for (long to : actors) {
+                    long[] path = graph.path(from, to);
+                    Integer distance = distances.get(to);
+                    String where = "round " + round + ", " + from + " -> " + to + ": " + Arrays.toString(path);
+                    if (distance == null) {
+                        assertEquals(0, path.length, where);
+                    } else {
+                        assertEquals(2 * distance + 1, path.length, where);
+                        assertValidPath(casts, path, from, to);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void withChangesMatchesGraphOfMergedLinks() {
+        Random random = new Random(11);
+        SortedMap<Long, long[]> casts = randomCasts(random, 40, 60);
+        CastGraph graph = build(casts);
+        for (int round = 0; round < 200; round++) {
+            SortedMap<Long, long[]> changed = new TreeMap<>();
+            for (int c = random.nextInt(4); c >= 0; c--) {
+                // Ids up to 50 so some changes add movies; an empty cast drops the movie
+                changed.put(1L + random.nextInt(50), randomCast(random, 60));
+            }
+            Set<Long> removedActors = new HashSet<>();
+            if (random.nextInt(3) == 0) removedActors.add(1L + random.nextInt(60));
+
+            graph = graph.withChanges(changed, removedActors);
+            casts.putAll(changed);
+            casts.replaceAll((movie, cast) -> Arrays.stream(cast).filter(a -> !removedActors.contains(a)).toArray());
+            casts.values().removeIf(cast -> cast.length == 0);
+            assertSameGraph(build(casts), graph, actorsOf(casts), "round " + round);
+        }
+    }
+
+    private static void assertSameGraph(CastGraph expected, CastGraph actual, Set<Long> actors, String where) {
+        assertEquals(expected.movieCount(), actual.movieCount(), where);
+        assertEquals(expected.actorCount(), actual.actorCount(), where);
+        assertEquals(expected.linkCount(), actual.linkCount(), where);
+        for (long actor : actors) {
+            assertEquals(expected.costars(actor, Integer.MAX_VALUE), actual.costars(actor, Integer.MAX_VALUE),
+                where + ", actor " + actor);
+        }
+    }
+
+    /** Checks that the path alternates actors and movies and each movie casts both its neighbours. */
+    private static void assertValidPath(Map<Long, long[]> casts, long[] path, long from, long to) {
+        assertEquals(from, path[0]);
+        assertEquals(to, path[path.length - 1]);
+        for (int i = 1; i < path.length; i += 2) {
+            long[] cast = casts.get(path[i]);
+            String where = "movie " + path[i] + " in " + Arrays.toString(path);
+            assertTrue(cast != null && Arrays.binarySearch(cast, path[i - 1]) >= 0, where);
+            assertTrue(Arrays.binarySearch(cast, path[i + 1]) >= 0, where);
+        }
+    }
+
+    /** Distance in shared movies from one actor to every actor it reaches. */
+    private static Map<Long, Integer> bfs(Map<Long, long[]> casts, long from) {
+        Map<Long, Integer> distances = new HashMap<>();
+        distances.put(from, 0);
+        ArrayDeque<Long> queue = new ArrayDeque<>(List.of(from));
+        while (!queue.isEmpty()) {
+            long actor = queue.poll();
+            for (long[] cast : casts.values()) {
+                if (Arrays.binarySearch(cast, actor) < 0) continue;
+                for (long costar : cast) {
+                    if (distances.putIfAbsent(costar, distances.get(actor) + 1) == null) queue.add(costar);
+                }
+            }
+        }
+        return distances;
+    }
+
+    private static SortedMap<Long, long[]> randomCasts(Random random, int movies, int actors) {
+        SortedMap<Long, long[]> casts = new TreeMap<>();
+        for (long m = 1; m <= movies; m++) {
+            long[] cast = randomCast(random, actors);
+            if (cast.length > 0) casts.put(m, cast);
+        }
+        return casts;
+    }
+
+    private static long[] randomCast(Random random, int actors) {
+        TreeSet<Long> cast = new TreeSet<>();
+        for (int n = random.nextInt(4); n > 0; n--) cast.add(1L + random.nextInt(actors));
+        return cast.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static Set<Long> actorsOf(Map<Long, long[]> casts) {
+        Set<Long> actors = new TreeSet<>();
+        for (long[] cast : casts.values()) {
+            for (long actor : cast) actors.add(actor);
+        }
+        return actors;
+    }
+
+    private static CastGraph build(Map<Long, long[]> casts) {
+        CastLinks links = new CastLinks();
+        for (Map.Entry<Long, long[]> e : casts.entrySet()) {
+            for (long actor : e.getValue()) links.add(e.getKey(), actor);
+        }
+        return CastGraph.of(links.movies, links.actors, links.size);
+    }
+}
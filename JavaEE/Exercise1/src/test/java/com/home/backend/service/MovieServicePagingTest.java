@@ -0,0 +1,129 @@
+package com.home.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.home.backend.model.Actor;
+import com.home.backend.model.Director;
+import com.home.backend.model.Movie;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Rendering a page of the movie table, cast and director included, takes the
+ * same number of SQL statements however many movies the page has.
+ */
+class MovieServicePagingTest {
+
+    // More than Movie.actors' @BatchSize, so batch loading alone would not keep the count flat
+    private static final int MOVIES = 120;
+    private static final int ACTORS_PER_MOVIE = 3;
+
+    private static SessionFactory sessionFactory;
+
+    @BeforeAll
+    static void seed() {
+        sessionFactory = new Configuration()
+            .addAnnotatedClass(Movie.class)
+            .addAnnotatedClass(Actor.class)
+            .addAnnotatedClass(Director.class)
+            .setProperty("hibernate.connection.url", "jdbc:h2:mem:paging;DB_CLOSE_DELAY=-1")
+            .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+            .setProperty("hibernate.query.in_clause_parameter_padding", "true")
+            // Count the queries, not second-level cache hits
+            .setProperty("hibernate.cache.use_second_level_cache", "false")
+            .setProperty("hibernate.cache.use_query_cache", "false")
+            .setProperty("hibernate.generate_statistics", "true")
+            .setProperty("jakarta.persistence.validation.mode", "none")
+            .buildSessionFactory();
+
+        EntityManager em = sessionFactory.createEntityManager();
+        em.getTransaction().begin();
+        List<Director> directors = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Director d = new Director();
+            d.setFirstName("Director" + i);
+            d.setLastName("Last" + i);
+            em.persist(d);
+            directors.add(d);
+        }
+        List<Actor> actors = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Actor a = new Actor();
+            a.setFirstName("Actor" + i);
+            a.setLastName("Last" + i);
+            em.persist(a);
+            actors.add(a);
+        }
+        for (int i = 0; i < MOVIES; i++) {
+            Movie m = new Movie();
+            m.setTitle(String.format("Movie %03d", i));
+            m.setYear(2000 + i % 10);
+            m.setDirector(directors.get(i % directors.size()));
+            for (int k = 0; k < ACTORS_PER_MOVIE; k++) {
+                m.getActors().add(actors.get((i + k * 7) % actors.size()));
+            }
+            em.persist(m);
+        }
+        em.getTransaction().commit();
+        em.close();
+    }
+
+    @AfterAll
+    static void close() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void findPageStatementCountDoesNotGrowWithPageSize() throws ReflectiveOperationException {
+        long single = statementsToRenderPage(1);
+        long full = statementsToRenderPage(MOVIES);
+        assertEquals(single, full, "statements for a page of 1 vs " + MOVIES + " movies");
+        // The page query and the one that fetches the page's casts
+        assertEquals(2, full);
+    }
+
+    /** Loads a page and reads every field the movie table shows. */
+    private static long statementsToRenderPage(int pageSize) throws ReflectiveOperationException {
+        EntityManager em = sessionFactory.createEntityManager();
+        try {
+            MovieService service = new MovieService();
+            inject(service, "entityManager", em);
+            inject(service, "slowQueries", new SlowQueryLog());
+            Statistics statistics = sessionFactory.getStatistics();
+            statistics.clear();
+
+            List<Movie> page = service.findPage(null, "title", true, 0, pageSize);
+            assertEquals(pageSize, page.size());
+            int castSize = 0;
+            for (Movie m : page) {
+                assertNotNull(m.getDirector().getLastName());
+                for (Actor a : m.getActors()) {
+                    assertNotNull(a.getLastName());
+                    castSize++;
+                }
+            }
+            assertEquals(pageSize * ACTORS_PER_MOVIE, castSize);
+            return statistics.getPrepareStatementCount();
+        } finally {
+            em.close();
+        }
+    }
+
+    private static void inject(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
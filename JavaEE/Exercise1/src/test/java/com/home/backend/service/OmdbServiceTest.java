@@ -0,0 +1,174 @@
+package com.home.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import jakarta.json.JsonObject;
+
+/**
+ * {@link OmdbService} against a local stub of the OMDb API, so it runs offline.
+ */
+class OmdbServiceTest {
+
+    private static final String[] SETTINGS = {
+        "omdb.base-url", "omdb.read-timeout-ms", "omdb.cache.negative-ttl-minutes"
+    };
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    // Requests the stub received, per title
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private volatile String lastQuery;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::answer);
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.start();
+        System.setProperty("omdb.base-url", "http://localhost:" + server.getAddress().getPort() + "/");
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+        for (String name : SETTINGS) {
+            System.clearProperty(name);
+        }
+    }
+
+    private void answer(HttpExchange exchange) throws IOException {
+        lastQuery = exchange.getRequestURI().getRawQuery();
+        String title = queryParameter(lastQuery, "t");
+        requests.computeIfAbsent(title, k -> new AtomicInteger()).incrementAndGet();
+        String body;
+        if (title.equals("Slow")) {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            body = "{\"Response\":\"True\",\"Title\":\"Slow\"}";
+        } else if (title.equals("Inception")) {
+            body = "{\"Response\":\"True\",\"Title\":\"Inception\",\"Year\":\"2010\",\"imdbID\":\"tt1375666\"}";
+        } else {
+            body = "{\"Response\":\"False\",\"Error\":\"Movie not found!\"}";
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        try {
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (IOException e) {
+            // The client gave up waiting
+        }
+    }
+
+    private static String queryParameter(String query, String name) {
+        for (String pair : query.split("&")) {
+            if (pair.startsWith(name + "=")) {
+                return URLDecoder.decode(pair.substring(name.length() + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return "";
+    }
+
+    private static OmdbService newService() {
+        OmdbService service = new OmdbService();
+        service.init();
+        return service;
+    }
+
+    private int requestsFor(String title) {
+        AtomicInteger count = requests.get(title);
+        return count == null ? 0 : count.get();
+    }
+
+    @Test
+    void repeatedLookupIsAnsweredFromCache() {
+        OmdbService omdb = newService();
+
+        JsonObject first = omdb.fetchByTitleOrImdbId("Inception", "key");
+        JsonObject second = omdb.fetchByTitleOrImdbId("  inception ", "key");
+
+        assertTrue(OmdbService.isFound(first));
+        assertSame(first, second);
+        assertEquals(1, requestsFor("Inception"));
+        assertEquals(1, omdb.getCache().getHits());
+        assertEquals(1, omdb.getCache().getMisses());
+    }
+
+    @Test
+    void notFoundIsCachedForTheNegativeTtl() {
+        OmdbService omdb = newService();
+
+        assertFalse(OmdbService.isFound(omdb.fetchMovie("Inceptoin", "key")));
+        assertFalse(OmdbService.isFound(omdb.fetchMovie("Inceptoin", "key")));
+
+        assertEquals(1, requestsFor("Inceptoin"));
+    }
+
+    @Test
+    void notFoundExpiresWithItsOwnTtl() {
+        // Negative answers expire at once, found ones keep the default day
+        System.setProperty("omdb.cache.negative-ttl-minutes", "0");
+        OmdbService omdb = newService();
+
+        omdb.fetchMovie("Inceptoin", "key");
+        omdb.fetchMovie("Inceptoin", "key");
+        omdb.fetchMovie("Inception", "key");
+        omdb.fetchMovie("Inception", "key");
+
+        assertEquals(2, requestsFor("Inceptoin"));
+        assertEquals(1, requestsFor("Inception"));
+    }
+
+    @Test
+    void baseUrlParametersAreKept() {
+        System.setProperty("omdb.base-url", System.getProperty("omdb.base-url") + "?v=1");
+        OmdbService omdb = newService();
+
+        assertTrue(OmdbService.isFound(omdb.fetchMovie("Inception", "key")));
+        assertEquals("v=1&t=Inception&apikey=key", lastQuery);
+    }
+
+    @Test
+    void slowAnswerFailsAfterReadTimeout() {
+        System.setProperty("omdb.read-timeout-ms", "500");
+        OmdbService omdb = newService();
+
+        long start = System.nanoTime();
+        RuntimeException e = assertThrows(RuntimeException.class, () -> omdb.fetchMovie("Slow", "key"));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(e.getMessage().contains("500 ms"), e.getMessage());
+        assertTrue(elapsedMs < 5_000, "gave up after " + elapsedMs + " ms");
+        assertEquals(0, omdb.getCache().size());
+    }
+}
@@ -0,0 +1,181 @@
+package com.home.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link SimilarityIndex#withChanges} against a fresh {@link SimilarityIndex#of}
+ * of the same data, after every batch of random changes.
+ */
+class SimilarityIndexTest {
+
+    private static final int K = 5;
+    private static final String[] GENRES = {"Drama", "Comedy, Drama", "Sci-Fi", "Horror, Thriller", "Thriller", null};
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(2);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    void patchedIndexEqualsRebuildWithoutGenres() {
+        // No genre fill-up, so every row has to match exactly
+        checkAgainstRebuild(new Random(1), false);
+    }
+
+    @Test
+    void patchedIndexMatchesRebuildWithGenres() {
+        checkAgainstRebuild(new Random(2), true);
+    }
+
+    private static void checkAgainstRebuild(Random random, boolean withGenres) {
+        Map<Long, Movie> catalog = new TreeMap<>();
+        for (long id = 1; id <= 150; id++) {
+            catalog.put(id, randomMovie(random, withGenres));
+        }
+        SimilarityIndex index = build(catalog);
+
+        for (int round = 0; round < 300; round++) {
+            SortedMap<Long, SimilarityIndex.Features> upserts = new TreeMap<>();
+            Set<Long> removedMovies = new HashSet<>();
+            Set<Long> removedActors = new HashSet<>();
+            for (int c = random.nextInt(4) + 1; c > 0; c--) {
+                // Ids up to 250 so some upserts are new movies
+                long id = 1 + random.nextInt(250);
+                int op = random.nextInt(10);
+                if (op < 2) {
+                    if (!upserts.containsKey(id)) removedMovies.add(id);
+                } else if (op < 3) {
+                    removedActors.add(1L + random.nextInt(60));
+                } else if (!removedMovies.contains(id)) {
+                    Movie m = randomMovie(random, withGenres);
+                    // Sometimes only director and genre changed, and the cast is kept
+                    boolean keepCast = random.nextInt(4) == 0;
+                    upserts.put(id, new SimilarityIndex.Features(m.director, m.genre, keepCast ? null : m.castArray()));
+                }
+            }
+            index = index.withChanges(upserts, removedMovies, removedActors, pool);
+            apply(catalog, upserts, removedMovies, removedActors);
+
+            SimilarityIndex rebuilt = build(catalog);
+            assertEquals(rebuilt.size(), index.size(), "round " + round);
+            for (long id = 1; id <= 250; id++) {
+                Movie movie = catalog.get(id);
+                if (movie == null) {
+                    assertNull(index.similar(id, K), "round " + round + ", removed movie " + id);
+                    continue;
+                }
+                List<SimilarityIndex.Match> expected = rebuilt.similar(id, K);
+                List<SimilarityIndex.Match> actual = index.similar(id, K);
+                if (expected.equals(actual)) continue;
+                String where = "round " + round + ", movie " + id + ": " + actual + " vs rebuilt " + expected;
+                // Allowed difference: the genre fill-up of a full row, which is not rescored
+                assertTrue(withGenres, where);
+                Set<Long> neighbours = neighbours(catalog, id);
+                assertTrue(neighbours.size() < K, where);
+                assertEquals(K, actual.size(), where);
+                assertEquals(only(expected, neighbours), only(actual, neighbours), where);
+            }
+        }
+    }
+
+    private static Movie randomMovie(Random random, boolean withGenres) {
+        Movie m = new Movie();
+        m.director = random.nextInt(6) == 0 ? 0 : 1 + random.nextInt(12);
+        m.genre = withGenres ? GENRES[random.nextInt(GENRES.length)] : null;
+        for (int n = random.nextInt(4); n > 0; n--) {
+            m.cast.add(1L + random.nextInt(60));
+        }
+        return m;
+    }
+
+    /** What withChanges does to the data: upserts, then removals. */
+    private static void apply(Map<Long, Movie> catalog, SortedMap<Long, SimilarityIndex.Features> upserts,
+                              Set<Long> removedMovies, Set<Long> removedActors) {
+        for (Map.Entry<Long, SimilarityIndex.Features> e : upserts.entrySet()) {
+            SimilarityIndex.Features f = e.getValue();
+            Movie m = new Movie();
+            m.director = f.directorId();
+            m.genre = f.genre();
+            if (f.cast() != null) {
+                for (long actor : f.cast()) m.cast.add(actor);
+            } else if (catalog.containsKey(e.getKey())) {
+                m.cast.addAll(catalog.get(e.getKey()).cast);
+            }
+            catalog.put(e.getKey(), m);
+        }
+        catalog.keySet().removeAll(removedMovies);
+        for (Movie m : catalog.values()) {
+            m.cast.removeAll(removedActors);
+        }
+    }
+
+    private static SimilarityIndex build(Map<Long, Movie> catalog) {
+        long[] ids = new long[catalog.size()];
+        long[] directors = new long[ids.length];
+        String[] genres = new String[ids.length];
+        CastLinks links = new CastLinks();
+        int v = 0;
+        for (Map.Entry<Long, Movie> e : catalog.entrySet()) {
+            ids[v] = e.getKey();
+            directors[v] = e.getValue().director;
+            genres[v++] = e.getValue().genre;
+            for (long actor : e.getValue().cast) links.add(e.getKey(), actor);
+        }
+        return SimilarityIndex.of(ids, directors, genres, links.movies, links.actors, links.size, K, pool);
+    }
+
+    /** Movies sharing an actor or the director with the given one. */
+    private static Set<Long> neighbours(Map<Long, Movie> catalog, long id) {
+        Movie movie = catalog.get(id);
+        Set<Long> result = new HashSet<>();
+        for (Map.Entry<Long, Movie> e : catalog.entrySet()) {
+            Movie other = e.getValue();
+            if (e.getKey() == id) continue;
+            boolean sharesActor = other.cast.stream().anyMatch(movie.cast::contains);
+            if (sharesActor || (movie.director != 0 && movie.director == other.director)) result.add(e.getKey());
+        }
+        return result;
+    }
+
+    private static List<SimilarityIndex.Match> only(List<SimilarityIndex.Match> matches, Set<Long> ids) {
+        List<SimilarityIndex.Match> result = new ArrayList<>();
+        for (SimilarityIndex.Match m : matches) {
+            if (ids.contains(m.movieId())) result.add(m);
+        }
+        return result;
+    }
+
+    private static final class Movie {
+        long director;
+        String genre;
+        final TreeSet<Long> cast = new TreeSet<>();
+
+        long[] castArray() {
+            return cast.stream().mapToLong(Long::longValue).toArray();
+        }
+    }
+}